@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+
+/**
+ * Map-backed preference node so stores can be benchmarked without the preference service.
+ */
+public final class InMemoryPreferences implements InvocationHandler {
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    private InMemoryPreferences() {
+    }
+
+    public static IEclipsePreferences create() {
+        return (IEclipsePreferences) Proxy.newProxyInstance(InMemoryPreferences.class.getClassLoader(),
+                new Class<?>[] { IEclipsePreferences.class }, new InMemoryPreferences());
+    }
+
+    public static IEclipsePreferences create(String key, String value) {
+        IEclipsePreferences preferences = create();
+        preferences.put(key, value);
+        return preferences;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+        case "get":
+            return values.getOrDefault((String) args[0], (String) args[1]);
+        case "put":
+            values.put((String) args[0], (String) args[1]);
+            return null;
+        case "remove":
+            values.remove((String) args[0]);
+            return null;
+        case "clear":
+            values.clear();
+            return null;
+        case "keys":
+            return values.keySet().toArray(new String[0]);
+        case "childrenNames":
+            return new String[0];
+        case "flush":
+        case "sync":
+        case "addPreferenceChangeListener":
+        case "removePreferenceChangeListener":
+        case "addNodeChangeListener":
+        case "removeNodeChangeListener":
+            return null;
+        case "name":
+            return "com.holgersiegel.favorites";
+        case "absolutePath":
+            return "/instance/com.holgersiegel.favorites";
+        case "hashCode":
+            return System.identityHashCode(proxy);
+        case "equals":
+            return proxy == args[0];
+        case "toString":
+            return "InMemoryPreferences" + values.keySet();
+        default:
+            throw new UnsupportedOperationException(method.getName());
+        }
+    }
+}
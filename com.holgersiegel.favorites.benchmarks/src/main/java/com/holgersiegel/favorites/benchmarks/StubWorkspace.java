@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.benchmarks;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Workspace stand-in that answers member lookups from a map, records resource change listeners
+ * and counts the lookups and existence probes the store performs.
+ */
+public final class StubWorkspace {
+
+    private static final IPath LOCATION = Path.fromOSString(System.getProperty("java.io.tmpdir")).append("favorites-bench-workspace");
+
+    private final Map<IPath, IResource> members = new ConcurrentHashMap<>();
+    private final List<IResourceChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder memberLookups = new LongAdder();
+    private final LongAdder existsProbes = new LongAdder();
+    private final IWorkspaceRoot root;
+    private final IWorkspace workspace;
+
+    public StubWorkspace() {
+        root = (IWorkspaceRoot) Proxy.newProxyInstance(StubWorkspace.class.getClassLoader(),
+                new Class<?>[] { IWorkspaceRoot.class }, this::invokeRoot);
+        workspace = (IWorkspace) Proxy.newProxyInstance(StubWorkspace.class.getClassLoader(),
+                new Class<?>[] { IWorkspace.class }, this::invokeWorkspace);
+    }
+
+    public IWorkspace getWorkspace() {
+        return workspace;
+    }
+
+    public IWorkspaceRoot getRoot() {
+        return root;
+    }
+
+    public IResource resource(IPath fullPath, int type) {
+        return (IResource) Proxy.newProxyInstance(StubWorkspace.class.getClassLoader(), new Class<?>[] { IResource.class },
+                (proxy, method, args) -> invokeResource(proxy, method, args, fullPath, type));
+    }
+
+    public void register(IResource resource) {
+        members.put(resource.getFullPath(), resource);
+    }
+
+    public void unregister(IResource resource) {
+        members.remove(resource.getFullPath());
+    }
+
+    public void clear() {
+        members.clear();
+    }
+
+    public void fire(IResourceChangeEvent event) {
+        for (IResourceChangeListener listener : listeners) {
+            listener.resourceChanged(event);
+        }
+    }
+
+    public long getMemberLookups() {
+        return memberLookups.sum();
+    }
+
+    public long getExistsProbes() {
+        return existsProbes.sum();
+    }
+
+    public void resetCounters() {
+        memberLookups.reset();
+        existsProbes.reset();
+    }
+
+    private Object invokeWorkspace(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+        case "getRoot":
+            return root;
+        case "addResourceChangeListener":
+            listeners.add((IResourceChangeListener) args[0]);
+            return null;
+        case "removeResourceChangeListener":
+            listeners.remove(args[0]);
+            return null;
+        default:
+            return invokeObject(proxy, method, args, "StubWorkspace");
+        }
+    }
+
+    private Object invokeRoot(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+        case "findMember":
+            memberLookups.increment();
+            return args[0] instanceof IPath ? members.get(args[0]) : members.get(Path.fromPortableString((String) args[0]));
+        case "findFilesForLocationURI":
+        case "findContainersForLocationURI":
+            return Array.newInstance(method.getReturnType().getComponentType(), 0);
+        case "getType":
+            return IResource.ROOT;
+        case "getFullPath":
+            return Path.ROOT;
+        case "getLocation":
+            return LOCATION;
+        case "exists":
+            return true;
+        case "getWorkspace":
+            return workspace;
+        default:
+            return invokeObject(proxy, method, args, "StubWorkspaceRoot");
+        }
+    }
+
+    private Object invokeResource(Object proxy, Method method, Object[] args, IPath fullPath, int type) {
+        switch (method.getName()) {
+        case "getFullPath":
+            return fullPath;
+        case "getLocation":
+            return LOCATION.append(fullPath);
+        case "getLocationURI":
+            return LOCATION.append(fullPath).toFile().toURI();
+        case "getName":
+            return fullPath.lastSegment();
+        case "getType":
+            return type;
+        case "exists":
+            existsProbes.increment();
+            return members.get(fullPath) == proxy;
+        case "getWorkspace":
+            return workspace;
+        case "hashCode":
+            return fullPath.hashCode();
+        case "equals":
+            return args[0] instanceof IResource && fullPath.equals(((IResource) args[0]).getFullPath());
+        case "toString":
+            return fullPath.toString();
+        default:
+            throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    static Object invokeObject(Object proxy, Method method, Object[] args, String name) {
+        switch (method.getName()) {
+        case "hashCode":
+            return System.identityHashCode(proxy);
+        case "equals":
+            return proxy == args[0];
+        case "toString":
+            return name;
+        default:
+            throw new UnsupportedOperationException(method.getName());
+        }
+    }
+}
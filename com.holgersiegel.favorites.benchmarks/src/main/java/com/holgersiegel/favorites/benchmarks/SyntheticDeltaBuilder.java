@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.benchmarks;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Builds synthetic {@link IResourceDelta} trees from leaf changes, adding CHANGED container nodes
+ * for every ancestor the way the workspace reports them.
+ */
+public final class SyntheticDeltaBuilder {
+
+    private final StubWorkspace workspace;
+    private final Node root;
+
+    public SyntheticDeltaBuilder(StubWorkspace workspace) {
+        this.workspace = workspace;
+        this.root = new Node(workspace.getRoot(), IResourceDelta.CHANGED, 0, null, null);
+    }
+
+    public SyntheticDeltaBuilder changed(IResource resource, int flags) {
+        return add(resource, IResourceDelta.CHANGED, flags, null, null);
+    }
+
+    public SyntheticDeltaBuilder removed(IResource resource) {
+        return add(resource, IResourceDelta.REMOVED, 0, null, null);
+    }
+
+    public SyntheticDeltaBuilder movedTo(IResource resource, IPath destination) {
+        return add(resource, IResourceDelta.REMOVED, IResourceDelta.MOVED_TO, null, destination);
+    }
+
+    public SyntheticDeltaBuilder movedFrom(IResource resource, IPath source) {
+        return add(resource, IResourceDelta.ADDED, IResourceDelta.MOVED_FROM, source, null);
+    }
+
+    public IResourceChangeEvent buildEvent() {
+        IResourceDelta delta = root.toDelta();
+        return (IResourceChangeEvent) Proxy.newProxyInstance(SyntheticDeltaBuilder.class.getClassLoader(),
+                new Class<?>[] { IResourceChangeEvent.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "getDelta":
+                        return delta;
+                    case "getType":
+                        return IResourceChangeEvent.POST_CHANGE;
+                    case "getBuildKind":
+                        return 0;
+                    case "getResource":
+                    case "getSource":
+                        return null;
+                    default:
+                        return StubWorkspace.invokeObject(proxy, method, args, "SyntheticResourceChangeEvent");
+                    }
+                });
+    }
+
+    private SyntheticDeltaBuilder add(IResource resource, int kind, int flags, IPath movedFrom, IPath movedTo) {
+        IPath path = resource.getFullPath();
+        Node parent = root;
+        for (int depth = 1; depth < path.segmentCount(); depth++) {
+            IPath containerPath = path.uptoSegment(depth);
+            Node container = parent.children.get(containerPath);
+            if (container == null) {
+                int type = depth == 1 ? IResource.PROJECT : IResource.FOLDER;
+                container = new Node(workspace.resource(containerPath, type), IResourceDelta.CHANGED, 0, null, null);
+                parent.children.put(containerPath, container);
+            }
+            parent = container;
+        }
+        Node existing = parent.children.get(path);
+        Node node = new Node(resource, kind, flags, movedFrom, movedTo);
+        if (existing != null) {
+            node.children.putAll(existing.children);
+        }
+        parent.children.put(path, node);
+        return this;
+    }
+
+    private static final class Node {
+
+        private final IResource resource;
+        private final int kind;
+        private final int flags;
+        private final IPath movedFrom;
+        private final IPath movedTo;
+        private final Map<IPath, Node> children = new LinkedHashMap<>();
+
+        Node(IResource resource, int kind, int flags, IPath movedFrom, IPath movedTo) {
+            this.resource = resource;
+            this.kind = kind;
+            this.flags = flags;
+            this.movedFrom = movedFrom;
+            this.movedTo = movedTo;
+        }
+
+        IResourceDelta toDelta() {
+            IResourceDelta[] childDeltas = new IResourceDelta[children.size()];
+            int index = 0;
+            for (Node child : children.values()) {
+                childDeltas[index++] = child.toDelta();
+            }
+            return (IResourceDelta) Proxy.newProxyInstance(SyntheticDeltaBuilder.class.getClassLoader(),
+                    new Class<?>[] { IResourceDelta.class }, (proxy, method, args) -> invoke(proxy, method, args, childDeltas));
+        }
+
+        private Object invoke(Object proxy, Method method, Object[] args, IResourceDelta[] childDeltas) throws Exception {
+            switch (method.getName()) {
+            case "getResource":
+                return resource;
+            case "getKind":
+                return kind;
+            case "getFlags":
+                return flags;
+            case "getFullPath":
+                return resource.getFullPath();
+            case "getProjectRelativePath":
+                return resource.getFullPath().removeFirstSegments(1);
+            case "getMovedFromPath":
+                return movedFrom;
+            case "getMovedToPath":
+                return movedTo;
+            case "getAffectedChildren":
+                return childDeltas.clone();
+            case "getMarkerDeltas":
+                return new org.eclipse.core.resources.IMarkerDelta[0];
+            case "accept":
+                accept((IResourceDelta) proxy, (IResourceDeltaVisitor) args[0], childDeltas);
+                return null;
+            default:
+                return StubWorkspace.invokeObject(proxy, method, args, "SyntheticDelta[" + resource + "]");
+            }
+        }
+
+        private static void accept(IResourceDelta delta, IResourceDeltaVisitor visitor, IResourceDelta[] childDeltas) throws Exception {
+            if (!visitor.visit(delta)) {
+                return;
+            }
+            for (IResourceDelta child : childDeltas) {
+                child.accept(visitor);
+            }
+        }
+    }
+
+    public static List<IResource> files(StubWorkspace workspace, String project, int folders, int filesPerFolder) {
+        List<IResource> files = new ArrayList<>(folders * filesPerFolder);
+        IPath projectPath = org.eclipse.core.runtime.Path.ROOT.append(project);
+        for (int folder = 0; folder < folders; folder++) {
+            IPath folderPath = projectPath.append("src").append("pkg" + folder);
+            for (int file = 0; file < filesPerFolder; file++) {
+                files.add(workspace.resource(folderPath.append("Type" + file + ".java"), IResource.FILE));
+            }
+        }
+        return files;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.holgersiegel.favorites.benchmarks.StubWorkspace;
+
+/**
+ * Store operations on a freshly loaded store per iteration; mutating operations run once per iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FavoritesStoreBenchmark {
+
+    @Param({ "10", "1000", "10000", "100000" })
+    public int size;
+
+    private final StubWorkspace workspace = new StubWorkspace();
+    private String json;
+    private FavoritesStore store;
+    private List<FavoriteEntry> stored;
+    private List<FavoriteEntry> batch;
+    private List<FavoriteEntry> removals;
+    private List<FavoriteEntry> moving;
+
+    @Setup(Level.Trial)
+    public void createFixture() {
+        json = StoreFixtures.json(StoreFixtures.externalEntries(size, 0, 2));
+        batch = StoreFixtures.externalEntries(Math.max(1, Math.min(size / 10, 1000)), size, 0);
+    }
+
+    @Setup(Level.Iteration)
+    public void loadStore() {
+        store = StoreFixtures.loadedStore(json, workspace);
+        stored = store.getEntries();
+        removals = new ArrayList<>();
+        for (int i = 0; i < stored.size(); i += 10) {
+            removals.add(stored.get(i));
+        }
+        int moveCount = Math.max(1, Math.min(stored.size() / 10, 500));
+        moving = new ArrayList<>(stored.subList(stored.size() - moveCount, stored.size()));
+    }
+
+    @TearDown(Level.Iteration)
+    public void disposeStore() {
+        store.dispose();
+    }
+
+    @Benchmark
+    public FavoriteEntry add() {
+        return store.addOrGetExternal(StoreFixtures.ROOT.resolve("added").resolve("Added.java"));
+    }
+
+    @Benchmark
+    public boolean addEntries() {
+        return store.addEntries(batch);
+    }
+
+    @Benchmark
+    public void move() {
+        store.move(moving, stored.get(0), false);
+    }
+
+    @Benchmark
+    public void remove() {
+        store.remove(removals);
+    }
+
+    @Benchmark
+    public int removeMissing() {
+        return store.removeMissing();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public List<FavoriteEntry> getEntries() {
+        return store.getEntries();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.IPath;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import com.holgersiegel.favorites.benchmarks.StubWorkspace;
+import com.holgersiegel.favorites.benchmarks.SyntheticDeltaBuilder;
+
+/**
+ * Replays synthetic resource deltas through the store's resource change listener. Each iteration
+ * delivers one event to a freshly loaded store; the auxiliary counters report the workspace member
+ * lookups and existence probes the store made while handling it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 15)
+@Fork(1)
+public class ResourceDeltaBenchmark {
+
+    private static final int PROJECTS = 10;
+    private static final int FOLDERS = 20;
+    private static final int FILES_PER_FOLDER = 500;
+    private static final int DELETED_FILES = 10_000;
+
+    @Param({ "1000", "10000", "100000" })
+    public int size;
+
+    private final StubWorkspace workspace = new StubWorkspace();
+    private final List<List<IResource>> projects = new ArrayList<>();
+    private final List<IResource> renamed = new ArrayList<>();
+    private String json;
+    private IResourceChangeEvent cleanBuild;
+    private IResourceChangeEvent projectRename;
+    private IResourceChangeEvent massDelete;
+    private FavoritesStore store;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Calls {
+
+        public long memberLookups;
+        public long existsProbes;
+    }
+
+    @Setup(Level.Trial)
+    public void createFixture() {
+        List<IResource> all = new ArrayList<>(PROJECTS * FOLDERS * FILES_PER_FOLDER);
+        for (int project = 0; project < PROJECTS; project++) {
+            List<IResource> files = SyntheticDeltaBuilder.files(workspace, "project" + project, FOLDERS, FILES_PER_FOLDER);
+            projects.add(files);
+            all.addAll(files);
+        }
+        List<FavoriteEntry> entries = new ArrayList<>(size);
+        int stride = Math.max(1, all.size() / size);
+        for (int i = 0; i < all.size() && entries.size() < size; i += stride) {
+            entries.add(FavoritesStore.newResourceEntry(all.get(i)));
+        }
+        json = StoreFixtures.json(entries);
+
+        SyntheticDeltaBuilder build = new SyntheticDeltaBuilder(workspace);
+        for (IResource file : all) {
+            build.changed(file, IResourceDelta.CONTENT);
+        }
+        cleanBuild = build.buildEvent();
+
+        SyntheticDeltaBuilder rename = new SyntheticDeltaBuilder(workspace);
+        IPath from = projects.get(0).get(0).getFullPath().uptoSegment(1);
+        IPath to = from.removeLastSegments(1).append("renamed");
+        rename.movedTo(workspace.resource(from, IResource.PROJECT), to);
+        rename.movedFrom(workspace.resource(to, IResource.PROJECT), from);
+        for (IResource file : projects.get(0)) {
+            IPath target = to.append(file.getFullPath().removeFirstSegments(1));
+            IResource moved = workspace.resource(target, IResource.FILE);
+            renamed.add(moved);
+            rename.movedTo(file, target);
+            rename.movedFrom(moved, file.getFullPath());
+        }
+        projectRename = rename.buildEvent();
+
+        SyntheticDeltaBuilder delete = new SyntheticDeltaBuilder(workspace);
+        for (IResource file : deletedFiles()) {
+            delete.removed(file);
+        }
+        massDelete = delete.buildEvent();
+    }
+
+    @Setup(Level.Iteration)
+    public void loadStore(BenchmarkParams params) {
+        workspace.clear();
+        for (List<IResource> files : projects) {
+            files.forEach(workspace::register);
+        }
+        store = StoreFixtures.loadedStore(json, workspace);
+        String benchmark = params.getBenchmark();
+        if (benchmark.endsWith(".projectRename")) {
+            projects.get(0).forEach(workspace::unregister);
+            renamed.forEach(workspace::register);
+        } else if (benchmark.endsWith(".massDelete")) {
+            deletedFiles().forEach(workspace::unregister);
+        }
+        workspace.resetCounters();
+    }
+
+    @TearDown(Level.Iteration)
+    public void disposeStore() {
+        store.dispose();
+    }
+
+    @Benchmark
+    public void cleanBuild(Calls calls) {
+        replay(cleanBuild, calls);
+    }
+
+    @Benchmark
+    public void projectRename(Calls calls) {
+        replay(projectRename, calls);
+    }
+
+    @Benchmark
+    public void massDelete(Calls calls) {
+        replay(massDelete, calls);
+    }
+
+    private List<IResource> deletedFiles() {
+        List<IResource> files = projects.get(1);
+        return files.subList(0, Math.min(DELETED_FILES, files.size()));
+    }
+
+    private void replay(IResourceChangeEvent event, Calls calls) {
+        workspace.resetCounters();
+        workspace.fire(event);
+        calls.memberLookups += workspace.getMemberLookups();
+        calls.existsProbes += workspace.getExistsProbes();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.model;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.holgersiegel.favorites.benchmarks.InMemoryPreferences;
+import com.holgersiegel.favorites.benchmarks.StubWorkspace;
+
+/**
+ * Generates synthetic favorites and stores seeded from their persisted form.
+ */
+final class StoreFixtures {
+
+    static final Path ROOT = Path.of(System.getProperty("java.io.tmpdir"), "favorites-bench");
+
+    private StoreFixtures() {
+    }
+
+    static List<FavoriteEntry> externalEntries(int count, int offset, int missingEvery) {
+        List<FavoriteEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = offset + i;
+            Path path = ROOT.resolve("project" + (id % 50)).resolve("src").resolve("pkg" + (id % 200)).resolve("Type" + id + ".java");
+            FavoriteEntry entry = FavoritesStore.newExternalEntry(path);
+            if (missingEvery > 0 && id % missingEvery == 0) {
+                entry.setStatus(FavoriteEntry.Status.MISSING);
+            }
+            if (id % 7 == 0) {
+                entry.setComment("Comment " + id);
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    static String json(List<FavoriteEntry> entries) {
+        return FavoritesStore.JsonSupport.write(entries);
+    }
+
+    static FavoritesStore loadedStore(String json, StubWorkspace workspace) {
+        FavoritesStore store = new FavoritesStore(InMemoryPreferences.create(FavoritesStore.PREF_KEY_ENTRIES, json), workspace.getWorkspace());
+        store.load();
+        return store;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.dnd;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.holgersiegel.favorites.model.FavoriteEntry;
+import com.holgersiegel.favorites.model.FavoritesStore;
+import com.holgersiegel.favorites.tests.Jobs;
+import com.holgersiegel.favorites.tests.TestPreferences;
+import com.holgersiegel.favorites.tests.TestWorkspace;
+
+class FavoritesDropAdapterTest {
+
+    @TempDir
+    Path directory;
+
+    private TestWorkspace workspace;
+    private IEclipsePreferences preferences;
+    private FavoritesStore store;
+    private Shell shell;
+    private FavoritesDropAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        workspace = TestWorkspace.create("drop");
+        preferences = TestPreferences.create("drop");
+        store = new FavoritesStore(preferences, ResourcesPlugin.getWorkspace());
+        store.load();
+        shell = new Shell(Display.getDefault());
+        adapter = new FavoritesDropAdapter(new TreeViewer(shell), store);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Jobs.processEvents();
+        shell.dispose();
+        store.dispose();
+        workspace.close();
+        TestPreferences.remove(preferences);
+    }
+
+    @Test
+    void fileDropAddsExternalEntries() throws Exception {
+        Path file = Files.writeString(directory.resolve("a.txt"), "a");
+        Path folder = Files.createDirectory(directory.resolve("folder"));
+        String[] paths = { file.toString(), folder.toString(), directory.resolve("missing.txt").toString(), file.toString() };
+
+        assertTrue(adapter.performDrop(paths));
+
+        List<FavoriteEntry> entries = store.getEntries();
+        assertEquals(3, entries.size());
+        assertFalse(entries.get(0).isDirectory());
+        assertTrue(entries.get(1).isDirectory());
+        assertTrue(entries.get(2).isMissing());
+        assertFalse(adapter.performDrop(new String[0]));
+    }
+
+    @Test
+    void resourceDropAddsWorkspaceEntries() throws Exception {
+        IFile file = workspace.file("src/A.txt", "a");
+
+        assertTrue(adapter.performDrop(new IResource[] { file, file.getParent() }));
+
+        List<FavoriteEntry> entries = store.getEntries();
+        assertEquals(2, entries.size());
+        assertTrue(entries.get(0).isWorkspaceResource());
+        assertTrue(entries.get(1).isDirectory());
+    }
+
+    @Test
+    void bulkFileDropImportsInBackground() throws Exception {
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            paths.add(Files.writeString(directory.resolve("file" + i + ".txt"), "x").toString());
+        }
+
+        assertTrue(adapter.performDrop(paths.toArray(String[]::new)));
+        Jobs.join(FileImportJob.class);
+
+        assertEquals(250, store.getEntryCount());
+        assertEquals(paths.get(0), store.getEntries().get(0).getAbsolutePath());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.expressions.EvaluationContext;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.swt.dnd.Clipboard;
+import org.eclipse.swt.dnd.TextTransfer;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.ISources;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.holgersiegel.favorites.model.FavoriteEntry;
+import com.holgersiegel.favorites.model.FavoritesStore;
+import com.holgersiegel.favorites.tests.TestWorkspace;
+import com.holgersiegel.favorites.util.FavoritesPlugin;
+
+class FavoritesHandlersTest {
+
+    private TestWorkspace workspace;
+    private FavoritesStore store;
+    private final List<FavoriteEntry> added = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        workspace = TestWorkspace.create("handlers");
+        store = FavoritesPlugin.getDefault().getFavoritesStore();
+        for (IFile file : workspace.files("src", 3)) {
+            added.add(store.addOrGetResource(file));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.remove(added);
+        workspace.close();
+    }
+
+    @Test
+    void removeHandlerRemovesSelectedEntries() throws Exception {
+        RemoveHandler handler = new RemoveHandler();
+        EvaluationContext context = context(new StructuredSelection(added.subList(0, 2)));
+
+        handler.setEnabled(context);
+        assertTrue(handler.isEnabled());
+        handler.execute(new ExecutionEvent(null, Collections.emptyMap(), null, context));
+
+        assertFalse(store.getEntries().contains(added.get(0)));
+        assertFalse(store.getEntries().contains(added.get(1)));
+        assertTrue(store.getEntries().contains(added.get(2)));
+    }
+
+    @Test
+    void removeHandlerIsDisabledWithoutFavorites() {
+        RemoveHandler handler = new RemoveHandler();
+
+        handler.setEnabled(context(new StructuredSelection(workspace.getProject())));
+
+        assertFalse(handler.isEnabled());
+    }
+
+    @Test
+    void copyPathHandlerCopiesAbsolutePaths() throws Exception {
+        EvaluationContext context = context(new StructuredSelection(added));
+
+        new CopyPathHandler().execute(new ExecutionEvent(null, Collections.emptyMap(), null, context));
+
+        Clipboard clipboard = new Clipboard(Display.getDefault());
+        try {
+            String[] lines = ((String) clipboard.getContents(TextTransfer.getInstance())).split(System.lineSeparator());
+            assertEquals(added.size(), lines.length);
+            assertEquals(added.get(0).getAbsolutePath(), lines[0]);
+        } finally {
+            clipboard.dispose();
+        }
+    }
+
+    private EvaluationContext context(ISelection selection) {
+        EvaluationContext context = new EvaluationContext(null, selection);
+        context.addVariable(ISources.ACTIVE_CURRENT_SELECTION_NAME, selection);
+        return context;
+    }
+}
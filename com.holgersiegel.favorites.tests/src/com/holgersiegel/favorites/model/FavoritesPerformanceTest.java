@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.holgersiegel.favorites.dnd.FavoritesDropAdapter;
+import com.holgersiegel.favorites.dnd.FileImportJob;
+import com.holgersiegel.favorites.tests.Jobs;
+import com.holgersiegel.favorites.tests.PerformanceGate;
+import com.holgersiegel.favorites.tests.TestPreferences;
+
+/**
+ * Timed scenarios checked against {@code performance-baseline.properties} by {@link PerformanceGate}.
+ */
+class FavoritesPerformanceTest {
+
+    private static final int LARGE_STORE = 50_000;
+    private static final int DROPPED_FILES = 2_000;
+    private static final int MOVED_ROWS = 500;
+    private static final int RUNS = 5;
+
+    @TempDir
+    Path directory;
+
+    private IEclipsePreferences preferences;
+    private final List<IEclipsePreferences> nodes = new ArrayList<>();
+    private final List<FavoritesStore> stores = new ArrayList<>();
+    private final List<Shell> shells = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        preferences = TestPreferences.create("performance");
+    }
+
+    @AfterEach
+    void tearDown() {
+        Jobs.processEvents();
+        shells.forEach(Shell::dispose);
+        stores.forEach(FavoritesStore::dispose);
+        nodes.forEach(TestPreferences::remove);
+        TestPreferences.remove(preferences);
+    }
+
+    @Test
+    void loadFiftyThousandEntries() throws Throwable {
+        preferences.put(FavoritesStore.PREF_KEY_ENTRIES, json(LARGE_STORE));
+
+        PerformanceGate.measure("store.load.50k", RUNS, () -> {
+            FavoritesStore store = newStore();
+            return () -> {
+                store.load();
+                assertEquals(LARGE_STORE, store.getEntryCount());
+            };
+        });
+    }
+
+    @Test
+    void dropTwoThousandFiles() throws Throwable {
+        String[] paths = new String[DROPPED_FILES];
+        for (int i = 0; i < DROPPED_FILES; i++) {
+            paths[i] = Files.writeString(directory.resolve("dropped" + i + ".txt"), "x").toString();
+        }
+
+        PerformanceGate.measure("drop.files.2k", RUNS, () -> {
+            IEclipsePreferences node = TestPreferences.create("drop");
+            nodes.add(node);
+            FavoritesStore store = new FavoritesStore(node, ResourcesPlugin.getWorkspace());
+            stores.add(store);
+            store.load();
+            Shell shell = new Shell(Display.getDefault());
+            shells.add(shell);
+            FavoritesDropAdapter adapter = new FavoritesDropAdapter(new TreeViewer(shell), store);
+            return () -> {
+                adapter.performDrop(paths);
+                Jobs.join(FileImportJob.class);
+                assertEquals(DROPPED_FILES, store.getEntryCount());
+            };
+        });
+    }
+
+    @Test
+    void moveFiveHundredRows() throws Throwable {
+        preferences.put(FavoritesStore.PREF_KEY_ENTRIES, json(LARGE_STORE));
+
+        PerformanceGate.measure("store.move.500", RUNS, () -> {
+            FavoritesStore store = newStore();
+            store.load();
+            List<FavoriteEntry> entries = store.getEntries();
+            List<FavoriteEntry> moving = new ArrayList<>(MOVED_ROWS);
+            int step = entries.size() / MOVED_ROWS;
+            for (int i = 0; i < MOVED_ROWS; i++) {
+                moving.add(entries.get(i * step + step / 2));
+            }
+            FavoriteEntry target = entries.get(0);
+            return () -> {
+                store.move(moving, target, false);
+                assertEquals(moving.get(0), store.getEntries().get(0));
+            };
+        });
+    }
+
+    private FavoritesStore newStore() {
+        FavoritesStore store = new FavoritesStore(preferences, ResourcesPlugin.getWorkspace());
+        stores.add(store);
+        return store;
+    }
+
+    private String json(int count) {
+        List<FavoriteEntry> entries = new ArrayList<>(count);
+        Path base = directory.resolve("generated");
+        for (int i = 0; i < count; i++) {
+            Path path = base.resolve("folder" + (i / 500)).resolve("Entry" + i + ".java");
+            FavoriteEntry entry = FavoritesStore.newExternalEntry(path);
+            if (i % 10 == 0) {
+                entry.setComment("Kommentar " + i);
+            }
+            entries.add(entry);
+        }
+        return FavoritesStore.JsonSupport.write(entries);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.holgersiegel.favorites.tests.TestPreferences;
+import com.holgersiegel.favorites.tests.TestWorkspace;
+
+class FavoritesPersistenceTest {
+
+    private TestWorkspace workspace;
+    private IEclipsePreferences preferences;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        workspace = TestWorkspace.create("persistence");
+        preferences = TestPreferences.create("persistence");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        workspace.close();
+        TestPreferences.remove(preferences);
+    }
+
+    @Test
+    void entriesSurviveReload() throws Exception {
+        IFile file = workspace.file("src/A.txt", "a");
+        IFile other = workspace.file("src/B.txt", "b");
+        FavoritesStore store = newStore();
+        store.addResource(file);
+        store.addResource(workspace.getProject());
+        FavoriteEntry commented = store.addOrGetResource(other);
+        store.updateComment(commented, "Kommentar mit \"Quotes\" und \\Backslash");
+        store.dispose();
+
+        FavoritesStore reloaded = newStore();
+        try {
+            assertFalse(reloaded.isLoaded());
+            List<FavoriteEntry> entries = reloaded.getEntries();
+            assertTrue(reloaded.isLoaded());
+            assertEquals(3, entries.size());
+            assertEquals(file.getFullPath().toString(), entries.get(0).getWorkspacePath());
+            assertFalse(entries.get(0).isDirectory());
+            assertTrue(entries.get(1).isDirectory());
+            assertEquals("Kommentar mit \"Quotes\" und \\Backslash", entries.get(2).getComment());
+            assertEquals(1, reloaded.getCommentCount());
+        } finally {
+            reloaded.dispose();
+        }
+    }
+
+    @Test
+    void jsonRoundTripKeepsAllFields() {
+        FavoriteEntry entry = new FavoriteEntry("/tmp/a \"b\".txt", false, null, "a \"b\".txt",
+                FavoriteEntry.Status.MISSING, "c:\\temp");
+        entry.setDirectory(true);
+
+        List<FavoriteEntry> read = FavoritesStore.JsonSupport.read(FavoritesStore.JsonSupport.write(List.of(entry)));
+
+        assertEquals(1, read.size());
+        FavoriteEntry copy = read.get(0);
+        assertEquals(entry.getAbsolutePath(), copy.getAbsolutePath());
+        assertFalse(copy.isWorkspaceResource());
+        assertNull(copy.getWorkspacePath());
+        assertEquals(entry.getLabel(), copy.getLabel());
+        assertEquals(entry.getComment(), copy.getComment());
+        assertTrue(copy.isMissing());
+        assertTrue(copy.isDirectory());
+    }
+
+    @Test
+    void corruptPreferenceIsNotOverwrittenByLoad() {
+        preferences.put(FavoritesStore.PREF_KEY_ENTRIES, "[{\"path\":");
+        FavoritesStore store = newStore();
+        try {
+            assertTrue(store.getEntries().isEmpty());
+            assertEquals("[{\"path\":", preferences.get(FavoritesStore.PREF_KEY_ENTRIES, null));
+        } finally {
+            store.dispose();
+        }
+    }
+
+    @Test
+    void saveBeforeLoadKeepsPersistedEntries() {
+        preferences.put(FavoritesStore.PREF_KEY_ENTRIES, "[{\"path\":\"/tmp/x\",\"workspace\":false,\"label\":\"x\"}]");
+        FavoritesStore store = newStore();
+        try {
+            store.saveNow();
+            assertEquals(1, FavoritesStore.JsonSupport.read(preferences.get(FavoritesStore.PREF_KEY_ENTRIES, "")).size());
+        } finally {
+            store.dispose();
+        }
+    }
+
+    private FavoritesStore newStore() {
+        return new FavoritesStore(preferences, ResourcesPlugin.getWorkspace());
+    }
+}
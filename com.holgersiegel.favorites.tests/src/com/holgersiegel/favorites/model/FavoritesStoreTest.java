@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.holgersiegel.favorites.tests.TestPreferences;
+import com.holgersiegel.favorites.tests.TestWorkspace;
+
+class FavoritesStoreTest {
+
+    private TestWorkspace workspace;
+    private IEclipsePreferences preferences;
+    private FavoritesStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        workspace = TestWorkspace.create("store");
+        preferences = TestPreferences.create("store");
+        store = new FavoritesStore(preferences, ResourcesPlugin.getWorkspace());
+        store.load();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.dispose();
+        workspace.close();
+        TestPreferences.remove(preferences);
+    }
+
+    @Test
+    void addResourceIgnoresDuplicates() throws Exception {
+        IFile file = workspace.file("src/A.txt", "a");
+
+        assertTrue(store.addResource(file));
+        assertFalse(store.addResource(file));
+        assertEquals(1, store.getEntryCount());
+        FavoriteEntry entry = store.getEntries().get(0);
+        assertTrue(entry.isWorkspaceResource());
+        assertEquals(file.getFullPath().toString(), entry.getWorkspacePath());
+        assertFalse(entry.isDirectory());
+    }
+
+    @Test
+    void addOrGetEntriesReturnsStoredInstances() throws Exception {
+        IFile file = workspace.file("src/A.txt", "a");
+        FavoriteEntry first = store.addOrGetResource(file);
+
+        List<FavoriteEntry> result = store.addOrGetEntries(List.of(FavoritesStore.newResourceEntry(file)));
+
+        assertEquals(1, result.size());
+        assertSame(first, result.get(0));
+        assertEquals(1, store.getEntryCount());
+    }
+
+    @Test
+    void moveKeepsRelativeOrder() throws Exception {
+        List<IFile> files = workspace.files("moves", 4);
+        for (IFile file : files) {
+            store.addResource(file);
+        }
+        List<FavoriteEntry> entries = store.getEntries();
+
+        store.move(List.of(entries.get(2), entries.get(0)), entries.get(3), true);
+        assertEquals(List.of(entries.get(1), entries.get(3), entries.get(0), entries.get(2)), store.getEntries());
+
+        store.move(List.of(entries.get(3)), entries.get(1), false);
+        assertEquals(List.of(entries.get(3), entries.get(1), entries.get(0), entries.get(2)), store.getEntries());
+
+        store.move(List.of(entries.get(3)), null, false);
+        assertEquals(List.of(entries.get(1), entries.get(0), entries.get(2), entries.get(3)), store.getEntries());
+    }
+
+    @Test
+    void deletedResourceBecomesMissing() throws Exception {
+        IFile file = workspace.file("src/A.txt", "a");
+        IFile kept = workspace.file("src/B.txt", "b");
+        store.addResource(file);
+        store.addResource(kept);
+
+        file.delete(true, null);
+
+        assertTrue(store.hasMissingEntries());
+        assertEquals(1, store.getMissingCount());
+        assertEquals(1, store.removeMissing());
+        assertEquals(1, store.getEntryCount());
+        assertEquals(kept.getFullPath().toString(), store.getEntries().get(0).getWorkspacePath());
+    }
+
+    @Test
+    void renamedProjectUpdatesEntries() throws Exception {
+        IFile file = workspace.file("src/A.txt", "a");
+        FavoriteEntry entry = store.addOrGetResource(file);
+        IProject project = workspace.getProject();
+        String newName = project.getName() + "-renamed";
+
+        project.move(project.getFullPath().removeLastSegments(1).append(newName), true, null);
+
+        try {
+            assertEquals("/" + newName + "/src/A.txt", entry.getWorkspacePath());
+            assertFalse(entry.isMissing());
+            assertNotNull(store.getEntries().stream().filter(e -> e.getKey().equals(entry.getKey())).findFirst().orElse(null));
+        } finally {
+            ResourcesPlugin.getWorkspace().getRoot().getProject(newName).delete(true, true, null);
+        }
+    }
+
+    @Test
+    void externalEntriesReflectFileSystem(@TempDir Path directory) throws Exception {
+        Path existing = Files.writeString(directory.resolve("existing.txt"), "x");
+        Path missing = directory.resolve("missing.txt");
+
+        assertTrue(store.addExternal(existing));
+        assertTrue(store.addExternal(missing));
+        assertFalse(store.addExternal(existing));
+
+        List<FavoriteEntry> entries = store.getEntries();
+        assertEquals(2, store.getExternalCount());
+        assertFalse(entries.get(0).isMissing());
+        assertTrue(entries.get(1).isMissing());
+    }
+
+    @Test
+    void externalFolderKeepsDirectoryFlag(@TempDir Path directory) throws Exception {
+        Path folder = Files.createDirectories(directory.resolve("folder"));
+
+        FavoriteEntry entry = store.addOrGetExternal(folder);
+        assertTrue(entry.isDirectory());
+
+        store.addOrGetEntries(List.of(FavoritesStore.newExternalEntry(folder)));
+        assertTrue(entry.isDirectory());
+    }
+
+    @Test
+    void updateCommentIsCounted() throws Exception {
+        FavoriteEntry entry = store.addOrGetResource(workspace.file("src/A.txt", "a"));
+
+        store.updateComment(entry, "todo");
+        assertEquals(1, store.getCommentCount());
+        store.updateComment(entry, "  ");
+        assertEquals(0, store.getCommentCount());
+        assertFalse(entry.hasComment());
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.holgersiegel.favorites.tests.Jobs;
+import com.holgersiegel.favorites.tests.TestPreferences;
+
+class SharedFavoritesStoreTest {
+
+    private static final long TIMEOUT = 10_000;
+
+    @TempDir
+    Path folder;
+
+    private IEclipsePreferences firstPreferences;
+    private IEclipsePreferences secondPreferences;
+    private FavoritesStore first;
+    private FavoritesStore second;
+    private SharedFavoritesStore firstShared;
+    private SharedFavoritesStore secondShared;
+
+    @BeforeEach
+    void setUp() {
+        firstPreferences = TestPreferences.create("shared-first");
+        secondPreferences = TestPreferences.create("shared-second");
+        first = new FavoritesStore(firstPreferences, ResourcesPlugin.getWorkspace());
+        second = new FavoritesStore(secondPreferences, ResourcesPlugin.getWorkspace());
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (SharedFavoritesStore shared : new SharedFavoritesStore[] { firstShared, secondShared }) {
+            if (shared != null) {
+                shared.dispose();
+            }
+        }
+        first.dispose();
+        second.dispose();
+        TestPreferences.remove(firstPreferences);
+        TestPreferences.remove(secondPreferences);
+    }
+
+    @Test
+    void attachMergesBothSides() throws Exception {
+        first.addExternal(file("a"));
+        first.addExternal(file("b"));
+        second.addExternal(file("c"));
+
+        attachBoth();
+
+        assertEquals("a,b,c", labels(second));
+        assertTrue(Jobs.waitUntil(() -> labels(first).equals("a,b,c"), TIMEOUT), labels(first));
+    }
+
+    @Test
+    void changesReachTheOtherStore() throws Exception {
+        first.addExternal(file("a"));
+        first.addExternal(file("b"));
+        attachBoth();
+
+        second.updateComment(second.getEntries().get(0), "geteilt");
+        assertTrue(Jobs.waitUntil(() -> "geteilt".equals(first.getEntries().get(0).getComment()), TIMEOUT));
+
+        first.remove(List.of(first.getEntries().get(0)));
+        assertTrue(Jobs.waitUntil(() -> labels(second).equals("b"), TIMEOUT), labels(second));
+
+        first.addExternal(file("c"));
+        first.move(List.of(first.getEntries().get(1)), first.getEntries().get(0), false);
+        assertTrue(Jobs.waitUntil(() -> labels(second).equals("c,b"), TIMEOUT), labels(second));
+    }
+
+    @Test
+    void attachKeepsLocalEntriesRemovedElsewhere() throws Exception {
+        Path a = file("a");
+        first.addExternal(a);
+        attachBoth();
+        first.remove(first.getEntries());
+        assertTrue(Jobs.waitUntil(() -> second.getEntries().isEmpty(), TIMEOUT), labels(second));
+
+        IEclipsePreferences thirdPreferences = TestPreferences.create("shared-third");
+        FavoritesStore third = new FavoritesStore(thirdPreferences, ResourcesPlugin.getWorkspace());
+        SharedFavoritesStore thirdShared = new SharedFavoritesStore(sharedFile());
+        try {
+            third.addExternal(a);
+            thirdShared.attach(third);
+            assertEquals("a", labels(third));
+            assertTrue(Jobs.waitUntil(() -> labels(first).equals("a"), TIMEOUT), labels(first));
+        } finally {
+            thirdShared.dispose();
+            third.dispose();
+            TestPreferences.remove(thirdPreferences);
+        }
+    }
+
+    @Test
+    void expiredTombstonesAreDropped() throws Exception {
+        long expired = System.currentTimeMillis() - SharedFavoritesStore.TOMBSTONE_RETENTION - 1000;
+        Path shared = sharedFile();
+        Files.createDirectories(shared.getParent());
+        Files.writeString(shared, "[" + tombstone("old", 1, expired) + "," + tombstone("recent", 2, System.currentTimeMillis()) + "]");
+        first.addExternal(file("a"));
+
+        firstShared = new SharedFavoritesStore(shared);
+        firstShared.attach(first);
+
+        String content = Files.readString(shared);
+        assertFalse(content.contains("\"label\":\"old\""), content);
+        assertTrue(content.contains("\"label\":\"recent\""), content);
+        assertEquals("a", labels(first));
+    }
+
+    private void attachBoth() throws Exception {
+        firstShared = new SharedFavoritesStore(sharedFile());
+        firstShared.attach(first);
+        secondShared = new SharedFavoritesStore(sharedFile());
+        secondShared.attach(second);
+    }
+
+    private Path sharedFile() {
+        return folder.resolve("shared").resolve(SharedFavoritesStore.FILE_NAME);
+    }
+
+    private Path file(String name) throws Exception {
+        Path path = folder.resolve(name);
+        if (!Files.exists(path)) {
+            Files.createFile(path);
+        }
+        return path;
+    }
+
+    private String tombstone(String name, long version, long deletedAt) {
+        String path = folder.resolve(name).toString().replace("\\", "\\\\");
+        return "{\"path\":\"" + path + "\",\"workspace\":false,\"label\":\"" + name + "\",\"status\":\"OK\",\"version\":" + version
+                + ",\"deleted\":true,\"deletedAt\":" + deletedAt + "}";
+    }
+
+    private static String labels(FavoritesStore store) {
+        return store.getEntries().stream().map(FavoriteEntry::getLabel).collect(Collectors.joining(","));
+    }
+}
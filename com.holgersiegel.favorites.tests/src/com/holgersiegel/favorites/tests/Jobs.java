@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.tests;
+
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Waits for background jobs started by the code under test and drains the UI queue afterwards.
+ */
+public final class Jobs {
+
+    private Jobs() {
+    }
+
+    public static void join(Class<? extends Job> type) throws InterruptedException {
+        for (Job job : Job.getJobManager().find(null)) {
+            if (type.isInstance(job)) {
+                job.join();
+            }
+        }
+        processEvents();
+    }
+
+    public static void join(String name) throws InterruptedException {
+        for (Job job : Job.getJobManager().find(null)) {
+            if (name.equals(job.getName())) {
+                job.join();
+            }
+        }
+        processEvents();
+    }
+
+    public static boolean waitUntil(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        Display display = Display.getCurrent();
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            if (display == null || !display.readAndDispatch()) {
+                Thread.sleep(1);
+            }
+        }
+        return true;
+    }
+
+    public static void processEvents() {
+        Display display = Display.getCurrent();
+        if (display == null) {
+            return;
+        }
+        while (!display.isDisposed() && display.readAndDispatch()) {
+            // drain
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.tests;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Properties;
+
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Times performance scenarios, appends the median to the results file and fails when a scenario is slower than
+ * its committed baseline by more than the configured threshold. A scenario without a baseline value fails as well,
+ * unless the baseline is being recorded.
+ * <p>
+ * Configured through the system properties {@code favorites.perf.baseline}, {@code favorites.perf.results},
+ * {@code favorites.perf.threshold} (relative, {@code 0.25} = 25% slower) and {@code favorites.perf.updateBaseline}.
+ */
+public final class PerformanceGate {
+
+    public interface Setup {
+        Executable prepare() throws Throwable;
+    }
+
+    private static final double DEFAULT_THRESHOLD = 0.25;
+
+    private PerformanceGate() {
+    }
+
+    public static double measure(String scenario, int runs, Setup setup) throws Throwable {
+        setup.prepare().execute();
+        long[] samples = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            Executable action = setup.prepare();
+            long start = System.nanoTime();
+            action.execute();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double median = samples[runs / 2] / 1_000_000d;
+        double min = samples[0] / 1_000_000d;
+        double max = samples[runs - 1] / 1_000_000d;
+        record(scenario, median, min, max);
+        check(scenario, median);
+        return median;
+    }
+
+    private static synchronized void record(String scenario, double median, double min, double max) throws IOException {
+        Path results = path("favorites.perf.results");
+        if (results == null) {
+            return;
+        }
+        Properties properties = load(results);
+        properties.setProperty(scenario, format(median));
+        properties.setProperty(scenario + ".min", format(min));
+        properties.setProperty(scenario + ".max", format(max));
+        store(results, properties, "Favorites performance results (median ms)");
+    }
+
+    private static synchronized void check(String scenario, double median) throws IOException {
+        Path baselineFile = path("favorites.perf.baseline");
+        if (baselineFile == null) {
+            return;
+        }
+        Properties baseline = load(baselineFile);
+        if (Boolean.getBoolean("favorites.perf.updateBaseline")) {
+            baseline.setProperty(scenario, format(median));
+            store(baselineFile, baseline, "Favorites performance baseline (median ms)");
+            return;
+        }
+        String expected = baseline.getProperty(scenario);
+        if (expected == null) {
+            fail(scenario + " has no baseline in " + baselineFile
+                    + "; record one with -Dfavorites.perf.updateBaseline=true");
+        }
+        double limit = Double.parseDouble(expected) * (1 + threshold());
+        if (median > limit) {
+            fail(String.format(Locale.ROOT, "%s regressed: median %.1f ms, baseline %s ms, limit %.1f ms",
+                    scenario, median, expected, limit));
+        }
+    }
+
+    private static double threshold() {
+        String value = System.getProperty("favorites.perf.threshold");
+        if (value == null || value.isBlank()) {
+            return DEFAULT_THRESHOLD;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            return DEFAULT_THRESHOLD;
+        }
+    }
+
+    private static Path path(String property) {
+        String value = System.getProperty(property);
+        return value == null || value.isBlank() ? null : Paths.get(value);
+    }
+
+    private static Properties load(Path file) throws IOException {
+        Properties properties = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+
+    private static void store(Path file, Properties properties, String comment) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, comment);
+        }
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.1f", millis);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.tests;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Generated workspace project that is deleted again when the test closes it.
+ */
+public final class TestWorkspace implements AutoCloseable {
+
+    private final IProject project;
+
+    private TestWorkspace(IProject project) {
+        this.project = project;
+    }
+
+    public static TestWorkspace create(String name) throws CoreException {
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        IProject project = workspace.getRoot().getProject(name + "-" + System.nanoTime());
+        workspace.run(monitor -> {
+            project.create(monitor);
+            project.open(monitor);
+        }, null);
+        return new TestWorkspace(project);
+    }
+
+    public IProject getProject() {
+        return project;
+    }
+
+    public IFile file(String path, String content) throws CoreException {
+        IFile file = project.getFile(path);
+        createParents(file.getParent() instanceof IFolder ? (IFolder) file.getParent() : null);
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (file.exists()) {
+            file.setContents(new ByteArrayInputStream(bytes), true, false, null);
+        } else {
+            file.create(new ByteArrayInputStream(bytes), true, null);
+        }
+        return file;
+    }
+
+    public List<IFile> files(String folder, int count) throws CoreException {
+        List<IFile> files = new ArrayList<>(count);
+        ResourcesPlugin.getWorkspace().run(monitor -> {
+            for (int i = 0; i < count; i++) {
+                files.add(file(folder + "/File" + i + ".txt", "content " + i));
+            }
+        }, null);
+        return files;
+    }
+
+    private void createParents(IFolder folder) throws CoreException {
+        if (folder == null || folder.exists()) {
+            return;
+        }
+        if (folder.getParent() instanceof IFolder) {
+            createParents((IFolder) folder.getParent());
+        }
+        folder.create(true, true, null);
+    }
+
+    @Override
+    public void close() throws CoreException {
+        if (project.exists()) {
+            project.delete(true, true, null);
+        }
+    }
+}
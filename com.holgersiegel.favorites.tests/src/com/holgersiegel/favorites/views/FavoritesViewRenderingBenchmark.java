@@ -0,0 +1,255 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.views;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IViewPart;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.ide.IDE;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.holgersiegel.favorites.diagnostics.Counter;
+import com.holgersiegel.favorites.diagnostics.FavoritesDiagnostics;
+import com.holgersiegel.favorites.model.FavoriteEntry;
+import com.holgersiegel.favorites.model.FavoritesStore;
+import com.holgersiegel.favorites.tests.Jobs;
+import com.holgersiegel.favorites.tests.TestWorkspace;
+import com.holgersiegel.favorites.util.FavoritesPlugin;
+
+/**
+ * Measures how long the Favorites view takes to paint, refresh, scroll, highlight the active editor and apply a
+ * comment edit, together with the label updates and file system probes each scenario causes.
+ * <p>
+ * Runs with {@code -Pui-benchmarks}; sizes come from {@code favorites.ui.sizes} and the JSON report goes to
+ * {@code favorites.ui.results}.
+ */
+class FavoritesViewRenderingBenchmark {
+
+    private static final String DEFAULT_SIZES = "1000,10000,50000";
+    private static final String VERIFY_JOB = "Verifying favorites";
+    private static final int EDITOR_SWITCHES = 10;
+    private static final long TIMEOUT_MILLIS = 120_000;
+
+    @TempDir
+    Path directory;
+
+    private TestWorkspace workspace;
+    private IWorkbenchPage page;
+    private FavoritesStore store;
+    private FavoritesDiagnostics diagnostics;
+    private boolean diagnosticsWereEnabled;
+    private List<IFile> workspaceFiles;
+    private List<Path> externalFiles;
+    private final List<String> results = new ArrayList<>();
+    private long startNanos;
+    private long startLabelUpdates;
+    private long startFileSystemCalls;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        workspace = TestWorkspace.create("rendering");
+        page = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+        store = FavoritesPlugin.getDefault().getFavoritesStore();
+        store.remove(store.getEntries());
+        diagnostics = FavoritesPlugin.getDefault().getDiagnostics();
+        diagnosticsWereEnabled = diagnostics.isEnabled();
+        diagnostics.setEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        page.closeAllEditors(false);
+        hideView();
+        store.remove(store.getEntries());
+        workspace.close();
+        diagnostics.setEnabled(diagnosticsWereEnabled);
+    }
+
+    @Test
+    void renderFavoritesView() throws Exception {
+        List<Integer> sizes = sizes();
+        int largest = sizes.stream().mapToInt(Integer::intValue).max().orElse(0);
+        workspaceFiles = workspace.files("src", Math.max(2, largest / 10));
+        externalFiles = new ArrayList<>(largest);
+        for (int i = 0; i < largest; i++) {
+            externalFiles.add(Files.createFile(directory.resolve("external" + i + ".txt")));
+        }
+        for (int size : sizes) {
+            run(size);
+        }
+        writeResults();
+    }
+
+    private void run(int size) throws Exception {
+        hideView();
+        store.remove(store.getEntries());
+        store.addEntries(entries(size));
+        Jobs.processEvents();
+
+        begin();
+        IViewPart view = page.showView(FavoritesView.ID);
+        TreeViewer viewer = (TreeViewer) view.getSite().getSelectionProvider();
+        Tree tree = viewer.getTree();
+        boolean[] painted = new boolean[1];
+        Listener paintListener = event -> painted[0] = true;
+        tree.addListener(SWT.Paint, paintListener);
+        tree.redraw();
+        assertTrue(Jobs.waitUntil(() -> painted[0], TIMEOUT_MILLIS), "view never painted");
+        tree.removeListener(SWT.Paint, paintListener);
+        end(size, "firstPaint", 1);
+        Jobs.join(VERIFY_JOB);
+
+        begin();
+        viewer.refresh();
+        tree.update();
+        end(size, "fullRefresh", 1);
+
+        begin();
+        TreeItem[] items = tree.getItems();
+        int pageSize = Math.max(1, tree.getClientArea().height / Math.max(1, tree.getItemHeight()));
+        int scrolls = 0;
+        for (int i = 0; i < items.length; i += pageSize) {
+            tree.setTopItem(items[i]);
+            tree.update();
+            scrolls++;
+        }
+        end(size, "scrollThrough", scrolls);
+
+        IEditorPart first = IDE.openEditor(page, workspaceFiles.get(0), true);
+        IEditorPart second = IDE.openEditor(page, workspaceFiles.get(1), true);
+        Jobs.processEvents();
+        begin();
+        for (int i = 0; i < EDITOR_SWITCHES; i++) {
+            page.activate(i % 2 == 0 ? first : second);
+            Jobs.processEvents();
+            tree.update();
+        }
+        end(size, "editorSwitchHighlight", EDITOR_SWITCHES);
+        page.closeAllEditors(false);
+        page.activate(view);
+        Jobs.processEvents();
+
+        FavoriteEntry entry = (FavoriteEntry) tree.getItem(0).getData();
+        begin();
+        viewer.editElement(entry, 3);
+        Text editor = findCellEditor(tree);
+        assertNotNull(editor, "comment editor not activated");
+        editor.setText("Kommentar " + size);
+        editor.notifyListeners(SWT.DefaultSelection, new Event());
+        Jobs.processEvents();
+        tree.update();
+        end(size, "commentEdit", 1);
+    }
+
+    private List<FavoriteEntry> entries(int size) {
+        int workspaceCount = Math.max(2, size / 10);
+        List<FavoriteEntry> entries = new ArrayList<>(size);
+        for (int i = 0; i < workspaceCount; i++) {
+            entries.add(FavoritesStore.newResourceEntry(workspaceFiles.get(i)));
+        }
+        for (int i = 0; entries.size() < size; i++) {
+            entries.add(FavoritesStore.newExternalEntry(externalFiles.get(i)));
+        }
+        return entries;
+    }
+
+    private static Text findCellEditor(Tree tree) {
+        for (Control child : tree.getChildren()) {
+            if (child instanceof Text && child.isVisible()) {
+                return (Text) child;
+            }
+        }
+        return null;
+    }
+
+    private void begin() {
+        startLabelUpdates = Counter.LABEL_UPDATES.get();
+        startFileSystemCalls = Counter.FILE_SYSTEM_CALLS.get();
+        startNanos = System.nanoTime();
+    }
+
+    private void end(int size, String scenario, int operations) {
+        double millis = (System.nanoTime() - startNanos) / 1_000_000d;
+        long labelUpdates = Counter.LABEL_UPDATES.get() - startLabelUpdates;
+        long fileSystemCalls = Counter.FILE_SYSTEM_CALLS.get() - startFileSystemCalls;
+        results.add(String.format(Locale.ROOT,
+                "{\"entries\":%d,\"scenario\":\"%s\",\"operations\":%d,\"millis\":%.2f,\"labelUpdates\":%d,\"fileSystemCalls\":%d}",
+                size, scenario, operations, millis, labelUpdates, fileSystemCalls));
+    }
+
+    private void hideView() {
+        IViewPart view = page.findView(FavoritesView.ID);
+        if (view != null) {
+            page.hideView(view);
+            Jobs.processEvents();
+        }
+    }
+
+    private void writeResults() throws IOException {
+        String target = System.getProperty("favorites.ui.results");
+        Path file = target == null || target.isBlank()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "favorites-ui-benchmark.json")
+                : Paths.get(target);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        String json = "{\"results\":[\n  " + String.join(",\n  ", results) + "\n]}\n";
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+    }
+
+    private static List<Integer> sizes() {
+        List<Integer> sizes = new ArrayList<>();
+        for (String value : System.getProperty("favorites.ui.sizes", DEFAULT_SIZES).split(",")) {
+            if (!value.isBlank()) {
+                sizes.add(Integer.valueOf(value.trim()));
+            }
+        }
+        return sizes;
+    }
+}
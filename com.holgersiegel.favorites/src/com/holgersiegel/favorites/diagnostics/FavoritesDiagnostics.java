@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.diagnostics;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Switches the {@link ProbeStatistics} and the {@link UiWatchdog} on and off and renders them for the JMX bean and the
+ * diagnostics command.
+ */
+public final class FavoritesDiagnostics implements FavoritesDiagnosticsMBean {
+
+    public static final String OBJECT_NAME = "com.holgersiegel.favorites:type=Diagnostics";
+    public static final String ENABLED_PROPERTY = "favorites.diagnostics";
+    public static final String FLIGHT_RECORDER_PROPERTY = "favorites.jfr";
+
+    private final ProbeStatistics statistics = new ProbeStatistics();
+    private final UiWatchdog uiWatchdog = new UiWatchdog();
+    private volatile boolean enabled;
+    private volatile Instant since;
+    private ObjectName registeredName;
+    private FlightRecorderBridge flightRecorderBridge;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public synchronized void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) {
+            return;
+        }
+        this.enabled = enabled;
+        if (enabled) {
+            since = Instant.now();
+            Probe.addListener(statistics);
+        } else {
+            Probe.removeListener(statistics);
+        }
+    }
+
+    public ProbeStatistics getStatistics() {
+        return statistics;
+    }
+
+    public UiWatchdog getUiWatchdog() {
+        return uiWatchdog;
+    }
+
+    @Override
+    public boolean isUiWatchdogEnabled() {
+        return uiWatchdog.isRunning();
+    }
+
+    @Override
+    public void setUiWatchdogEnabled(boolean enabled) {
+        if (enabled) {
+            uiWatchdog.start();
+        } else {
+            uiWatchdog.stop();
+        }
+    }
+
+    @Override
+    public long getUiWatchdogThresholdMillis() {
+        return uiWatchdog.getThresholdMillis();
+    }
+
+    @Override
+    public void setUiWatchdogThresholdMillis(long millis) {
+        uiWatchdog.setThresholdMillis(millis);
+    }
+
+    @Override
+    public long getUiStallCount() {
+        return uiWatchdog.getStallCount();
+    }
+
+    @Override
+    public long getFileSystemCalls() {
+        return Counter.FILE_SYSTEM_CALLS.get();
+    }
+
+    @Override
+    public long getLabelUpdates() {
+        return Counter.LABEL_UPDATES.get();
+    }
+
+    @Override
+    public long getSaveCount() {
+        return statistics.getCount(Operation.STORE_SAVE);
+    }
+
+    @Override
+    public double getSaveMaxMillis() {
+        return statistics.getMaxNanos(Operation.STORE_SAVE) / 1_000_000d;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return statistics.getBytes(Operation.STORE_SAVE);
+    }
+
+    @Override
+    public long getResourceChangeCount() {
+        return statistics.getCount(Operation.RESOURCE_CHANGED);
+    }
+
+    @Override
+    public double getResourceChangeMaxMillis() {
+        return statistics.getMaxNanos(Operation.RESOURCE_CHANGED) / 1_000_000d;
+    }
+
+    @Override
+    public long getViewRefreshCount() {
+        return statistics.getCount(Operation.VIEW_REFRESH);
+    }
+
+    @Override
+    public double getViewRefreshMaxMillis() {
+        return statistics.getMaxNanos(Operation.VIEW_REFRESH) / 1_000_000d;
+    }
+
+    @Override
+    public synchronized void reset() {
+        statistics.reset();
+        uiWatchdog.reset();
+        since = Instant.now();
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        out.append("Favorites diagnostics").append(System.lineSeparator());
+        out.append("collecting: ").append(enabled ? "yes, since " + since : "no").append(System.lineSeparator());
+        FlightRecorderBridge bridge = flightRecorderBridge;
+        out.append("flight recorder events: ").append(bridge != null && bridge.isActive() ? "recording" : "off")
+                .append(System.lineSeparator());
+        out.append("ui watchdog: ").append(uiWatchdog.isRunning()
+                ? "on, threshold " + uiWatchdog.getThresholdMillis() + " ms, " + uiWatchdog.getStallCount() + " stalls logged"
+                : "off").append(System.lineSeparator());
+        out.append(System.lineSeparator());
+        statistics.appendTo(out);
+        out.append(System.lineSeparator());
+        uiWatchdog.appendTo(out);
+        return out.toString();
+    }
+
+    public synchronized void register() throws JMException {
+        if (registeredName != null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (!server.isRegistered(name)) {
+            server.registerMBean(this, name);
+            registeredName = name;
+        }
+    }
+
+    /**
+     * Whether the events should be installed at startup: requested with {@link #FLIGHT_RECORDER_PROPERTY} or a
+     * recording is already running.
+     */
+    public static boolean isFlightRecorderRequested() {
+        return Boolean.getBoolean(FLIGHT_RECORDER_PROPERTY) || FlightRecorderBridge.isRecorderInitialized();
+    }
+
+    /**
+     * Starts emitting {@code com.holgersiegel.favorites.Operation} flight recorder events whenever a recording
+     * enables them.
+     */
+    public synchronized void installFlightRecorderEvents() {
+        if (flightRecorderBridge != null) {
+            return;
+        }
+        FlightRecorderBridge bridge = new FlightRecorderBridge();
+        bridge.install();
+        flightRecorderBridge = bridge;
+    }
+
+    public synchronized void dispose() {
+        setEnabled(false);
+        uiWatchdog.stop();
+        uiWatchdog.setStallHandler(null);
+        if (flightRecorderBridge != null) {
+            flightRecorderBridge.dispose();
+            flightRecorderBridge = null;
+        }
+        if (registeredName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+            } catch (JMException ex) {
+                // already gone
+            }
+            registeredName = null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.diagnostics;
+
+/**
+ * JMX view of the favorites diagnostics, registered as {@value FavoritesDiagnostics#OBJECT_NAME}.
+ */
+public interface FavoritesDiagnosticsMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getFileSystemCalls();
+
+    long getLabelUpdates();
+
+    long getSaveCount();
+
+    double getSaveMaxMillis();
+
+    long getBytesWritten();
+
+    long getResourceChangeCount();
+
+    double getResourceChangeMaxMillis();
+
+    long getViewRefreshCount();
+
+    double getViewRefreshMaxMillis();
+
+    boolean isUiWatchdogEnabled();
+
+    void setUiWatchdogEnabled(boolean enabled);
+
+    long getUiWatchdogThresholdMillis();
+
+    void setUiWatchdogThresholdMillis(long millis);
+
+    long getUiStallCount();
+
+    void reset();
+
+    String dump();
+}
@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.diagnostics;
+
+import java.util.Locale;
+
+import org.eclipse.osgi.service.debug.DebugOptions;
+import org.eclipse.osgi.service.debug.DebugOptionsListener;
+import org.eclipse.osgi.service.debug.DebugTrace;
+
+/**
+ * Writes a trace line with timing for every span whose category is switched on in the bundle's debug options.
+ * The tracer only registers with {@link Probe} while at least one category is enabled, so disabled tracing costs
+ * nothing beyond the probe's own check.
+ */
+public final class FavoritesTracing implements DebugOptionsListener, ProbeListener {
+
+    public static final String OPTION_DEBUG = "/debug";
+
+    private final String bundleId;
+    private volatile DebugTrace trace;
+    private volatile boolean[] enabled = new boolean[Operation.values().length];
+    private boolean registered;
+
+    public FavoritesTracing(String bundleId) {
+        this.bundleId = bundleId;
+    }
+
+    @Override
+    public synchronized void optionsChanged(DebugOptions options) {
+        trace = options.newDebugTrace(bundleId, FavoritesTracing.class);
+        boolean debug = options.getBooleanOption(bundleId + OPTION_DEBUG, false);
+        boolean[] updated = new boolean[Operation.values().length];
+        boolean any = false;
+        for (Operation operation : Operation.values()) {
+            boolean on = debug && options.getBooleanOption(bundleId + optionFor(operation), false);
+            updated[operation.ordinal()] = on;
+            any |= on;
+        }
+        enabled = updated;
+        if (any != registered) {
+            registered = any;
+            if (any) {
+                Probe.addListener(this);
+            } else {
+                Probe.removeListener(this);
+            }
+        }
+    }
+
+    public boolean isTracing(Operation operation) {
+        return enabled[operation.ordinal()];
+    }
+
+    public synchronized void dispose() {
+        Probe.removeListener(this);
+        registered = false;
+        enabled = new boolean[Operation.values().length];
+    }
+
+    @Override
+    public void completed(Span span) {
+        Operation operation = span.getOperation();
+        DebugTrace current = trace;
+        if (current == null || !enabled[operation.ordinal()]) {
+            return;
+        }
+        current.trace(optionFor(operation), format(span));
+    }
+
+    static String optionFor(Operation operation) {
+        return OPTION_DEBUG + '/' + operation.getCategory();
+    }
+
+    static String format(Span span) {
+        StringBuilder message = new StringBuilder(96);
+        message.append(span.getOperation().getId())
+                .append(String.format(Locale.ROOT, " %.3f ms", span.getDurationNanos() / 1_000_000.0));
+        if (span.getItems() != 0) {
+            message.append(" items=").append(span.getItems());
+        }
+        if (span.getBytes() != 0) {
+            message.append(" bytes=").append(span.getBytes());
+        }
+        if (span.getFileSystemCalls() != 0) {
+            message.append(" fsCalls=").append(span.getFileSystemCalls());
+        }
+        if (span.getDetail() != null) {
+            message.append(" [").append(span.getDetail()).append(']');
+        }
+        return message.toString();
+    }
+}
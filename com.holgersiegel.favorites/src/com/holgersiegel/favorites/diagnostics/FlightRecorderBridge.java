@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.diagnostics;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+
+/**
+ * Emits a {@link FavoritesEvent} for every span, but only while a running flight recording enables the event.
+ * Otherwise the bridge stays unregistered from {@link Probe}, so the instrumented code runs with probes disabled.
+ */
+public final class FlightRecorderBridge implements ProbeListener, FlightRecorderListener {
+
+    private volatile boolean active;
+
+    /**
+     * Whether the flight recorder has been started in this VM, e.g. by {@code -XX:StartFlightRecording}. Does not
+     * start it.
+     */
+    public static boolean isRecorderInitialized() {
+        return FlightRecorder.isInitialized();
+    }
+
+    public void install() {
+        FlightRecorder.register(FavoritesEvent.class);
+        FlightRecorder.addListener(this);
+        update();
+    }
+
+    public void dispose() {
+        FlightRecorder.removeListener(this);
+        Probe.removeListener(this);
+        active = false;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public void recordingStateChanged(Recording recording) {
+        update();
+    }
+
+    private synchronized void update() {
+        boolean enabled = EventType.getEventType(FavoritesEvent.class).isEnabled();
+        if (enabled == active) {
+            return;
+        }
+        active = enabled;
+        if (enabled) {
+            Probe.addListener(this);
+        } else {
+            Probe.removeListener(this);
+        }
+    }
+
+    @Override
+    public void completed(Span span) {
+        FavoritesEvent event = new FavoritesEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.operation = span.getOperation().getId();
+        event.entries = span.getItems();
+        event.elapsed = span.getDurationNanos();
+        event.bytes = span.getBytes();
+        event.fileSystemCalls = span.getFileSystemCalls();
+        event.detail = span.getDetail();
+        event.commit();
+    }
+}
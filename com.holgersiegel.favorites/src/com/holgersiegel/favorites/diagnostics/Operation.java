@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.diagnostics;
+
+/**
+ * Hot paths of the store and the view that are timed by {@link Probe}.
+ */
+public enum Operation {
+    STORE_SAVE("store.save", "persistence"),
+    JSON_SERIALIZE("json.serialize", "persistence"),
+    JSON_PARSE("json.parse", "persistence"),
+    REFRESH_STATUSES("store.refreshStatuses", "delta"),
+    RESOURCE_CHANGED("store.resourceChanged", "delta"),
+    NOTIFY_LISTENERS("store.notifyListeners", "view"),
+    VIEW_REFRESH("view.refresh", "view"),
+    STORE_MUTATION("store.mutation", "store"),
+    VERIFY_BATCH("store.verifyBatch", "delta"),
+    SUPERTYPE_HIERARCHY("hierarchy.supertypes", "hierarchy"),
+    SUBTYPE_HIERARCHY("hierarchy.subtypes", "hierarchy"),
+    DROP("dnd.drop", "dnd"),
+    FILE_IMPORT("dnd.import", "dnd"),
+    SHARED_PUBLISH("shared.publish", "persistence"),
+    SHARED_MERGE("shared.merge", "persistence");
+
+    private final String id;
+    private final String category;
+
+    Operation(String id, String category) {
+        this.id = id;
+        this.category = category;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Name of the trace category, matching the {@code /debug/<category>} entries of the bundle's {@code .options} file.
+     */
+    public String getCategory() {
+        return category;
+    }
+}
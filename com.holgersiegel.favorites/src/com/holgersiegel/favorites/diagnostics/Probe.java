@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.diagnostics;
+
+import java.util.Arrays;
+
+/**
+ * Entry point for instrumenting favorites operations.
+ * <p>
+ * Call sites wrap an operation in {@code try (Span span = Probe.start(Operation.X)) { ... }}. While no
+ * {@link ProbeListener} is registered, {@link #start(Operation)} and {@link #increment(Counter)} cost a single
+ * volatile read and return the shared disabled span.
+ */
+public final class Probe {
+
+    private static final ProbeListener[] NONE = new ProbeListener[0];
+
+    private static volatile ProbeListener[] listeners = NONE;
+
+    private Probe() {
+    }
+
+    public static Span start(Operation operation) {
+        ProbeListener[] current = listeners;
+        if (current.length == 0) {
+            return Span.DISABLED;
+        }
+        return new Span(operation, current);
+    }
+
+    public static void increment(Counter counter) {
+        if (listeners.length != 0) {
+            counter.increment();
+        }
+    }
+
+    public static boolean isActive() {
+        return listeners.length != 0;
+    }
+
+    public static synchronized void addListener(ProbeListener listener) {
+        if (listener == null || Arrays.asList(listeners).contains(listener)) {
+            return;
+        }
+        ProbeListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[updated.length - 1] = listener;
+        listeners = updated;
+    }
+
+    public static synchronized void removeListener(ProbeListener listener) {
+        int index = Arrays.asList(listeners).indexOf(listener);
+        if (index < 0) {
+            return;
+        }
+        ProbeListener[] updated = new ProbeListener[listeners.length - 1];
+        System.arraycopy(listeners, 0, updated, 0, index);
+        System.arraycopy(listeners, index + 1, updated, index, updated.length - index);
+        listeners = updated.length == 0 ? NONE : updated;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.diagnostics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates count, total and maximum latency, items, bytes and file system calls per {@link Operation}.
+ */
+public final class ProbeStatistics implements ProbeListener {
+
+    private final Map<Operation, Entry> entries = new EnumMap<>(Operation.class);
+
+    public ProbeStatistics() {
+        for (Operation operation : Operation.values()) {
+            entries.put(operation, new Entry());
+        }
+    }
+
+    @Override
+    public void completed(Span span) {
+        Entry entry = entries.get(span.getOperation());
+        entry.count.increment();
+        entry.totalNanos.add(span.getDurationNanos());
+        entry.maxNanos.accumulate(span.getDurationNanos());
+        entry.items.add(span.getItems());
+        entry.bytes.add(span.getBytes());
+        entry.fileSystemCalls.add(span.getFileSystemCalls());
+    }
+
+    public long getCount(Operation operation) {
+        return entries.get(operation).count.sum();
+    }
+
+    public long getTotalNanos(Operation operation) {
+        return entries.get(operation).totalNanos.sum();
+    }
+
+    public long getMaxNanos(Operation operation) {
+        return entries.get(operation).maxNanos.get();
+    }
+
+    public long getBytes(Operation operation) {
+        return entries.get(operation).bytes.sum();
+    }
+
+    public long getFileSystemCalls(Operation operation) {
+        return entries.get(operation).fileSystemCalls.sum();
+    }
+
+    public void reset() {
+        for (Entry entry : entries.values()) {
+            entry.reset();
+        }
+        for (Counter counter : Counter.values()) {
+            counter.reset();
+        }
+    }
+
+    public void appendTo(StringBuilder out) {
+        out.append(String.format(Locale.ROOT, "%-24s %8s %11s %9s %9s %10s %12s %9s%n",
+                "operation", "count", "total ms", "avg ms", "max ms", "items", "bytes", "fs calls"));
+        for (Map.Entry<Operation, Entry> mapEntry : entries.entrySet()) {
+            Entry entry = mapEntry.getValue();
+            long count = entry.count.sum();
+            double total = entry.totalNanos.sum() / 1_000_000d;
+            out.append(String.format(Locale.ROOT, "%-24s %8d %11.2f %9.3f %9.2f %10d %12d %9d%n",
+                    mapEntry.getKey().getId(), count, total, count == 0 ? 0d : total / count,
+                    entry.maxNanos.get() / 1_000_000d, entry.items.sum(), entry.bytes.sum(), entry.fileSystemCalls.sum()));
+        }
+        out.append(System.lineSeparator());
+        for (Counter counter : Counter.values()) {
+            out.append(String.format(Locale.ROOT, "%-24s %8d%n", counter.getId(), counter.get()));
+        }
+    }
+
+    private static final class Entry {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder items = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder fileSystemCalls = new LongAdder();
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            items.reset();
+            bytes.reset();
+            fileSystemCalls.reset();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.diagnostics;
+
+/**
+ * One timed run of an {@link Operation}. Spans are not thread-safe; close them on the thread that started them.
+ */
+public final class Span implements AutoCloseable {
+
+    static final Span DISABLED = new Span(null, new ProbeListener[0]);
+
+    private final Operation operation;
+    private final ProbeListener[] listeners;
+    private final Thread thread;
+    private final long startNanos;
+    private final long startFileSystemCalls;
+    private long durationNanos = -1;
+    private long items;
+    private long bytes;
+    private long fileSystemCalls;
+    private String detail;
+
+    Span(Operation operation, ProbeListener[] listeners) {
+        this.operation = operation;
+        this.listeners = listeners;
+        this.thread = operation == null ? null : Thread.currentThread();
+        this.startFileSystemCalls = operation == null ? 0 : Counter.FILE_SYSTEM_CALLS.get();
+        this.startNanos = operation == null ? 0 : System.nanoTime();
+    }
+
+    public boolean isRecording() {
+        return this != DISABLED;
+    }
+
+    public Span items(long count) {
+        if (this != DISABLED) {
+            this.items = count;
+        }
+        return this;
+    }
+
+    public Span bytes(long count) {
+        if (this != DISABLED) {
+            this.bytes = count;
+        }
+        return this;
+    }
+
+    public Span detail(String text) {
+        if (this != DISABLED) {
+            this.detail = text;
+        }
+        return this;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Thread getThread() {
+        return thread;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getItems() {
+        return items;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * File system probes made while the span was open, by any thread.
+     */
+    public long getFileSystemCalls() {
+        return fileSystemCalls;
+    }
+
+    @Override
+    public void close() {
+        if (this == DISABLED || durationNanos >= 0) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        fileSystemCalls = Counter.FILE_SYSTEM_CALLS.get() - startFileSystemCalls;
+        for (ProbeListener listener : listeners) {
+            try {
+                listener.completed(this);
+            } catch (RuntimeException ex) {
+                // a failing listener must not break the instrumented operation
+            }
+        }
+    }
+}
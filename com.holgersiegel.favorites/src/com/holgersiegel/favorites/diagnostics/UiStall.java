@@ -0,0 +1,52 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.diagnostics;
+
+/**
+ * Reported by the {@link UiWatchdog} when a watched stretch of work holds a thread longer than the threshold. The
+ * stack trace is the one of the blocked thread at the time of detection, not of the watchdog.
+ */
+public final class UiStall extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+    private final long elapsedNanos;
+
+    UiStall(String name, Thread thread, long elapsedNanos, long thresholdMillis, StackTraceElement[] stackTrace) {
+        super(String.format("Favorites work '%s' has held thread '%s' for %d ms (threshold %d ms)", name,
+                thread.getName(), elapsedNanos / 1_000_000L, thresholdMillis));
+        this.name = name;
+        this.elapsedNanos = elapsedNanos;
+        setStackTrace(stackTrace);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.diagnostics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Opt-in watchdog for work the plug-in does on the display thread. Instrumented code opens a {@link Watch} around each
+ * UI runnable, command execution or blocking SWT callback. While the watchdog runs, a sampler thread reports a
+ * {@link UiStall} with the blocked thread's stack once a watch stays open longer than the threshold, and every closed
+ * watch is added to a latency histogram per name. While it is stopped, {@link #enter(String)} costs a single volatile
+ * read.
+ */
+public final class UiWatchdog {
+
+    public static final String ENABLED_PROPERTY = "favorites.uiWatchdog";
+    public static final String THRESHOLD_PROPERTY = "favorites.uiWatchdog.thresholdMillis";
+    public static final long DEFAULT_THRESHOLD_MILLIS = 250;
+
+    private static final long[] BUCKET_MILLIS = { 16, 50, 100, 250, 500, 1000, 2000 };
+    private static final long MIN_SAMPLE_MILLIS = 10;
+    private static final String EVENT_LOOP_CLASS = "org.eclipse.swt.widgets.Display";
+    private static final String EVENT_LOOP_IDLE_METHOD = "sleep";
+    private static final int IDLE_FRAMES = 8;
+
+    private static volatile UiWatchdog running;
+
+    private final Map<String, Row> rows = new ConcurrentHashMap<>();
+    private final Map<Thread, Watch> open = new ConcurrentHashMap<>();
+    private final LongAdder stalls = new LongAdder();
+    private volatile long thresholdMillis = DEFAULT_THRESHOLD_MILLIS;
+    private volatile Consumer<UiStall> stallHandler;
+    private ScheduledExecutorService sampler;
+    private ScheduledFuture<?> sampling;
+
+    public static Watch enter(String name) {
+        UiWatchdog watchdog = running;
+        return watchdog == null ? Watch.NONE : watchdog.open(name);
+    }
+
+    /**
+     * Returns a runnable that is watched under {@code name}, or {@code runnable} itself while the watchdog is stopped.
+     */
+    public static Runnable wrap(String name, Runnable runnable) {
+        if (running == null) {
+            return runnable;
+        }
+        return () -> {
+            try (Watch watch = enter(name)) {
+                runnable.run();
+            }
+        };
+    }
+
+    public synchronized void start() {
+        if (sampler != null) {
+            return;
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Favorites UI watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleSampling();
+        running = this;
+    }
+
+    public synchronized void stop() {
+        if (running == this) {
+            running = null;
+        }
+        if (sampler != null) {
+            sampler.shutdownNow();
+            sampler = null;
+            sampling = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return running == this;
+    }
+
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    public synchronized void setThresholdMillis(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("threshold must be positive: " + millis);
+        }
+        thresholdMillis = millis;
+        if (sampler != null) {
+            sampling.cancel(false);
+            scheduleSampling();
+        }
+    }
+
+    public void setStallHandler(Consumer<UiStall> handler) {
+        this.stallHandler = handler;
+    }
+
+    public long getStallCount() {
+        return stalls.sum();
+    }
+
+    public long getCount(String name) {
+        Row row = rows.get(name);
+        return row == null ? 0 : row.count.sum();
+    }
+
+    public long getMaxNanos(String name) {
+        Row row = rows.get(name);
+        return row == null ? 0 : row.maxNanos.get();
+    }
+
+    public void reset() {
+        rows.clear();
+        stalls.reset();
+    }
+
+    public void appendTo(StringBuilder out) {
+        out.append(String.format(Locale.ROOT, "%-28s %8s %9s %9s", "ui thread", "count", "avg ms", "max ms"));
+        for (long bound : BUCKET_MILLIS) {
+            out.append(String.format(Locale.ROOT, " %6s", "<" + bound));
+        }
+        out.append(String.format(Locale.ROOT, " %6s %7s%n", ">=" + BUCKET_MILLIS[BUCKET_MILLIS.length - 1], "stalls"));
+        for (Map.Entry<String, Row> mapEntry : new TreeMap<>(rows).entrySet()) {
+            Row row = mapEntry.getValue();
+            long count = row.count.sum();
+            out.append(String.format(Locale.ROOT, "%-28s %8d %9.3f %9.2f", mapEntry.getKey(), count,
+                    count == 0 ? 0d : row.totalNanos.sum() / 1_000_000d / count, row.maxNanos.get() / 1_000_000d));
+            for (LongAdder bucket : row.buckets) {
+                out.append(String.format(Locale.ROOT, " %6d", bucket.sum()));
+            }
+            out.append(String.format(Locale.ROOT, " %7d%n", row.stalls.sum()));
+        }
+    }
+
+    private void scheduleSampling() {
+        long period = Math.max(MIN_SAMPLE_MILLIS, thresholdMillis / 4);
+        sampling = sampler.scheduleWithFixedDelay(this::sample, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private Watch open(String name) {
+        Thread thread = Thread.currentThread();
+        Watch watch = new Watch(this, name, thread, open.get(thread));
+        open.put(thread, watch);
+        return watch;
+    }
+
+    private void closed(Watch watch, long nanos) {
+        if (watch.parent == null) {
+            open.remove(watch.thread, watch);
+        } else {
+            open.replace(watch.thread, watch, watch.parent);
+        }
+        rows.computeIfAbsent(watch.name, name -> new Row()).record(nanos, nanos >= thresholdMillis * 1_000_000L);
+    }
+
+    private void sample() {
+        long thresholdNanos = thresholdMillis * 1_000_000L;
+        long now = System.nanoTime();
+        for (Watch watch : open.values()) {
+            Watch root = watch.root();
+            long elapsed = now - root.startNanos;
+            if (elapsed < thresholdNanos || root.reported) {
+                continue;
+            }
+            StackTraceElement[] stack = watch.thread.getStackTrace();
+            if (isIdle(stack)) {
+                continue;
+            }
+            root.reported = true;
+            stalls.increment();
+            Consumer<UiStall> handler = stallHandler;
+            if (handler == null) {
+                continue;
+            }
+            try {
+                handler.accept(new UiStall(watch.path(), watch.thread, elapsed, thresholdMillis, stack));
+            } catch (RuntimeException ex) {
+                // keep sampling; a failing handler must not stop the watchdog
+            }
+        }
+    }
+
+    /**
+     * A watch that opened a modal dialog keeps the thread in a nested event loop; it is not blocking while that loop
+     * waits for events.
+     */
+    private static boolean isIdle(StackTraceElement[] stack) {
+        for (int i = 0; i < Math.min(stack.length, IDLE_FRAMES); i++) {
+            StackTraceElement frame = stack[i];
+            if (EVENT_LOOP_CLASS.equals(frame.getClassName()) && EVENT_LOOP_IDLE_METHOD.equals(frame.getMethodName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One watched stretch of work; close it on the thread that opened it.
+     */
+    public static final class Watch implements AutoCloseable {
+
+        static final Watch NONE = new Watch(null, null, null, null);
+
+        private final UiWatchdog owner;
+        private final String name;
+        private final Thread thread;
+        private final Watch parent;
+        private final long startNanos;
+        private volatile boolean reported;
+
+        private Watch(UiWatchdog owner, String name, Thread thread, Watch parent) {
+            this.owner = owner;
+            this.name = name;
+            this.thread = thread;
+            this.parent = parent;
+            this.startNanos = owner == null ? 0 : System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            if (owner != null) {
+                owner.closed(this, System.nanoTime() - startNanos);
+            }
+        }
+
+        private Watch root() {
+            Watch root = this;
+            while (root.parent != null) {
+                root = root.parent;
+            }
+            return root;
+        }
+
+        private String path() {
+            return parent == null ? name : parent.path() + " > " + name;
+        }
+    }
+
+    private static final class Row {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder stalls = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_MILLIS.length + 1];
+
+        Row() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos, boolean stalled) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (stalled) {
+                stalls.increment();
+            }
+            long millis = nanos / 1_000_000L;
+            int bucket = 0;
+            while (bucket < BUCKET_MILLIS.length && millis >= BUCKET_MILLIS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+    }
+}
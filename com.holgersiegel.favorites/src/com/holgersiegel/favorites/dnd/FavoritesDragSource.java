@@ -23,7 +23,6 @@
  */
 package com.holgersiegel.favorites.dnd;
 
-import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -45,6 +44,9 @@ import com.holgersiegel.favorites.util.Resources;
 public class FavoritesDragSource extends DragSourceAdapter {
 
     private final TreeViewer viewer;
+    private IStructuredSelection dragSelection;
+    private IResource[] dragResources;
+    private String[] dragFilePaths;
 
     public FavoritesDragSource(TreeViewer viewer) {
         this.viewer = Objects.requireNonNull(viewer, "viewer");
@@ -55,7 +57,12 @@ public class FavoritesDragSource extends DragSourceAdapter {
         IStructuredSelection selection = viewer.getStructuredSelection();
         boolean hasSelection = selection != null && !selection.isEmpty();
         event.doit = hasSelection;
+        clearDragData();
         if (hasSelection) {
+            dragSelection = selection;
+            // resolve the payload once, while the selection is the one the user grabbed
+            dragResources = extractResources(selection);
+            dragFilePaths = extractFilePaths(selection);
             LocalSelectionTransfer transfer = LocalSelectionTransfer.getTransfer();
             transfer.setSelection(selection);
             transfer.setSelectionSetTime(System.currentTimeMillis());
@@ -64,7 +71,7 @@ public class FavoritesDragSource extends DragSourceAdapter {
 
     @Override
     public void dragSetData(DragSourceEvent event) {
-        IStructuredSelection selection = viewer.getStructuredSelection();
+        IStructuredSelection selection = dragSelection;
         if (selection == null || selection.isEmpty()) {
             return;
         }
@@ -73,26 +80,32 @@ public class FavoritesDragSource extends DragSourceAdapter {
             return;
         }
         if (ResourceTransfer.getInstance().isSupportedType(event.dataType)) {
-            event.data = extractResources(selection);
+            event.data = dragResources;
             return;
         }
         if (FileTransfer.getInstance().isSupportedType(event.dataType)) {
-            event.data = extractFilePaths(selection);
+            event.data = dragFilePaths;
         }
     }
 
     @Override
     public void dragFinished(DragSourceEvent event) {
         LocalSelectionTransfer.getTransfer().setSelection(null);
+        clearDragData();
+    }
+
+    private void clearDragData() {
+        dragSelection = null;
+        dragResources = null;
+        dragFilePaths = null;
     }
 
     private IResource[] extractResources(IStructuredSelection selection) {
         List<IResource> resources = new ArrayList<>();
-        for (Object element : selection.toArray()) {
+        for (Object element : selection) {
             if (element instanceof FavoriteEntry) {
-                FavoriteEntry entry = (FavoriteEntry) element;
-                IResource resource = Resources.resolveWorkspaceResource(entry);
-                if (resource != null) {
+                IResource resource = Resources.resolveWorkspaceResource((FavoriteEntry) element);
+                if (resource != null && resource.exists()) {
                     resources.add(resource);
                 }
             } else if (element instanceof IResource) {
@@ -104,26 +117,29 @@ public class FavoritesDragSource extends DragSourceAdapter {
 
     private String[] extractFilePaths(IStructuredSelection selection) {
         List<String> paths = new ArrayList<>();
-        for (Object element : selection.toArray()) {
+        for (Object element : selection) {
             if (element instanceof FavoriteEntry) {
                 FavoriteEntry entry = (FavoriteEntry) element;
-                appendIfExisting(paths, entry.getAbsolutePath());
+                // the cached status may be stale; a missing file would break the drop target
+                if (Resources.exists(entry)) {
+                    appendPath(paths, entry.getAbsolutePath());
+                }
             } else if (element instanceof IResource) {
-                appendIfExisting(paths, Resources.toAbsolutePath((IResource) element));
+                IResource resource = (IResource) element;
+                if (resource.isAccessible()) {
+                    appendPath(paths, Resources.toAbsolutePath(resource));
+                }
             }
         }
         return paths.toArray(String[]::new);
     }
 
-    private void appendIfExisting(List<String> paths, String rawPath) {
+    private void appendPath(List<String> paths, String rawPath) {
         if (rawPath == null || rawPath.isBlank()) {
             return;
         }
         try {
-            Path path = Path.of(rawPath);
-            if (Files.exists(path)) {
-                paths.add(path.toString());
-            }
+            paths.add(Path.of(rawPath).toString());
         } catch (InvalidPathException ex) {
             // ignore invalid paths
         }
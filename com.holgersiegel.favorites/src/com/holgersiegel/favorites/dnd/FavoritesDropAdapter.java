@@ -23,11 +23,14 @@
  */
 package com.holgersiegel.favorites.dnd;
 
-import java.nio.file.InvalidPathException;
-import java.nio.file.Paths;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -39,17 +42,25 @@ import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.ViewerDropAdapter;
+import org.eclipse.jface.window.Window;
 import org.eclipse.swt.dnd.DND;
 import org.eclipse.swt.dnd.FileTransfer;
 import org.eclipse.swt.dnd.TransferData;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.ui.part.ResourceTransfer;
 
+import com.holgersiegel.favorites.diagnostics.Operation;
+import com.holgersiegel.favorites.diagnostics.Probe;
+import com.holgersiegel.favorites.diagnostics.Span;
+import com.holgersiegel.favorites.diagnostics.UiWatchdog;
 import com.holgersiegel.favorites.model.FavoriteEntry;
 import com.holgersiegel.favorites.model.FavoritesStore;
 import com.holgersiegel.favorites.util.Resources;
 
 public class FavoritesDropAdapter extends ViewerDropAdapter {
 
+    private static final int BULK_IMPORT_THRESHOLD = 100;
+
     private final FavoritesStore store;
 
     public FavoritesDropAdapter(TreeViewer viewer, FavoritesStore store) {
@@ -69,7 +80,7 @@ public class FavoritesDropAdapter extends ViewerDropAdapter {
             return true;
         }
         if (FileTransfer.getInstance().isSupportedType(transferType)) {
-            setDropOperation(DND.DROP_COPY);
+            setDropOperation(operation == DND.DROP_LINK ? DND.DROP_LINK : DND.DROP_COPY);
             return true;
         }
         return false;
@@ -77,6 +88,15 @@ public class FavoritesDropAdapter extends ViewerDropAdapter {
 
     @Override
     public boolean performDrop(Object data) {
+        try (UiWatchdog.Watch watch = UiWatchdog.enter("dnd.drop"); Span span = Probe.start(Operation.DROP)) {
+            if (span.isRecording()) {
+                span.items(data instanceof Object[] ? ((Object[]) data).length : 1);
+            }
+            return drop(data);
+        }
+    }
+
+    private boolean drop(Object data) {
         TransferData currentType = getCurrentType();
         if (currentType != null && LocalSelectionTransfer.getTransfer().isSupportedType(currentType)) {
             return handleLocalSelection(LocalSelectionTransfer.getTransfer().getSelection());
@@ -85,6 +105,9 @@ public class FavoritesDropAdapter extends ViewerDropAdapter {
             return handleResources(asResourceArray(data));
         }
         if (currentType != null && FileTransfer.getInstance().isSupportedType(currentType)) {
+            if (getCurrentOperation() == DND.DROP_LINK) {
+                return handleFolderContentsDrop(asStringArray(data));
+            }
             return handleFileDrop(asStringArray(data));
         }
         if (data instanceof IResource[]) {
@@ -117,7 +140,10 @@ public class FavoritesDropAdapter extends ViewerDropAdapter {
             }
         }
         if (!favorites.isEmpty()) {
-            store.move(favorites, (FavoriteEntry) getCurrentTarget(), getCurrentLocation());
+            Object target = getCurrentTarget();
+            int location = getCurrentLocation();
+            boolean after = location == LOCATION_AFTER || location == LOCATION_ON;
+            store.move(favorites, target instanceof FavoriteEntry ? (FavoriteEntry) target : null, after);
             return true;
         }
         revealEntries(resources);
@@ -143,24 +169,54 @@ public class FavoritesDropAdapter extends ViewerDropAdapter {
         if (filePaths == null) {
             return false;
         }
-        Set<FavoriteEntry> added = new LinkedHashSet<>();
+        if (filePaths.length > BULK_IMPORT_THRESHOLD) {
+            FileImportJob job = new FileImportJob(store, Arrays.asList(filePaths), this::revealEntries);
+            job.setUser(true);
+            job.schedule();
+            return true;
+        }
+        Map<String, FavoriteEntry> prepared = new LinkedHashMap<>();
         for (String path : filePaths) {
-            if (path == null || path.isBlank()) {
-                continue;
-            }
-            try {
-                FavoriteEntry entry = store.addOrGetExternal(Paths.get(path));
-                if (entry != null) {
-                    added.add(entry);
-                }
-            } catch (InvalidPathException ex) {
-                // ignore invalid paths from the OS drop source
+            FavoriteEntry entry = FileImportJob.toExternalEntry(path);
+            if (entry != null) {
+                prepared.putIfAbsent(entry.getKey(), entry);
             }
         }
+        List<FavoriteEntry> added = store.addOrGetEntries(prepared.values());
         revealEntries(added);
         return !added.isEmpty();
     }
 
+    private boolean handleFolderContentsDrop(String[] filePaths) {
+        if (filePaths == null) {
+            return false;
+        }
+        FileImportJob job = new FileImportJob(store, Arrays.asList(filePaths), this::revealEntries);
+        job.setFolderHandler(this::chooseFolderContents);
+        job.setUser(true);
+        job.schedule();
+        return true;
+    }
+
+    private void chooseFolderContents(List<Path> folders) {
+        Control control = getViewer().getControl();
+        if (control == null || control.isDisposed()) {
+            return;
+        }
+        control.getDisplay().asyncExec(UiWatchdog.wrap("dnd.folderContents", () -> {
+            if (control.isDisposed()) {
+                return;
+            }
+            FolderContentsDialog dialog = new FolderContentsDialog(control.getShell());
+            if (dialog.open() != Window.OK || dialog.getFilter() == null) {
+                return;
+            }
+            FolderContentsJob job = new FolderContentsJob(store, folders, dialog.getFilter(), this::revealEntries);
+            job.setUser(true);
+            job.schedule();
+        }));
+    }
+
     private IResource[] asResourceArray(Object data) {
         return data instanceof IResource[] ? (IResource[]) data : null;
     }
@@ -179,7 +235,7 @@ public class FavoritesDropAdapter extends ViewerDropAdapter {
         return getCurrentEvent() != null ? getCurrentEvent().currentDataType : null;
     }
 
-    private void revealEntries(Set<FavoriteEntry> entries) {
+    private void revealEntries(Collection<FavoriteEntry> entries) {
         if (entries == null || entries.isEmpty()) {
             return;
         }
@@ -188,12 +244,12 @@ public class FavoritesDropAdapter extends ViewerDropAdapter {
             return;
         }
         List<FavoriteEntry> orderedEntries = new ArrayList<>(entries);
-        viewer.getControl().getDisplay().asyncExec(() -> {
+        viewer.getControl().getDisplay().asyncExec(UiWatchdog.wrap("dnd.revealEntries", () -> {
             if (viewer.getControl().isDisposed()) {
                 return;
             }
             viewer.refresh();
             viewer.setSelection(new StructuredSelection(orderedEntries), true);
-        });
+        }));
     }
 }
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.dnd;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.holgersiegel.favorites.diagnostics.Operation;
+import com.holgersiegel.favorites.diagnostics.Probe;
+import com.holgersiegel.favorites.diagnostics.Span;
+import com.holgersiegel.favorites.model.FavoriteEntry;
+import com.holgersiegel.favorites.model.FavoritesStore;
+import com.holgersiegel.favorites.util.Resources;
+
+public class FileImportJob extends Job {
+
+    private static final int CHUNK_SIZE = 512;
+
+    private final FavoritesStore store;
+    private final List<String> rawPaths;
+    private final Consumer<List<FavoriteEntry>> onImported;
+    private Consumer<List<Path>> onFolders;
+
+    public FileImportJob(FavoritesStore store, Collection<String> rawPaths, Consumer<List<FavoriteEntry>> onImported) {
+        super("Importing favorites");
+        this.store = Objects.requireNonNull(store, "store");
+        this.rawPaths = new ArrayList<>(rawPaths);
+        this.onImported = onImported;
+    }
+
+    public void setFolderHandler(Consumer<List<Path>> onFolders) {
+        this.onFolders = onFolders;
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        try (Span span = Probe.start(Operation.FILE_IMPORT)) {
+            span.items(rawPaths.size());
+            return importFiles(monitor);
+        }
+    }
+
+    private IStatus importFiles(IProgressMonitor monitor) {
+        SubMonitor progress = SubMonitor.convert(monitor, "Importing " + rawPaths.size() + " files", rawPaths.size() + 1);
+        Map<String, FavoriteEntry> unique = new LinkedHashMap<>();
+        List<Path> folders = new ArrayList<>();
+        for (int start = 0; start < rawPaths.size(); start += CHUNK_SIZE) {
+            if (progress.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+            List<String> chunk = rawPaths.subList(start, Math.min(start + CHUNK_SIZE, rawPaths.size()));
+            List<FavoriteEntry> prepared = chunk.parallelStream()
+                    .map(FileImportJob::toExternalEntry)
+                    .collect(Collectors.toList());
+            for (FavoriteEntry entry : prepared) {
+                if (entry == null) {
+                    continue;
+                }
+                if (onFolders != null && entry.isDirectory()) {
+                    folders.add(Paths.get(entry.getAbsolutePath()));
+                } else {
+                    unique.putIfAbsent(entry.getKey(), entry);
+                }
+            }
+            progress.worked(chunk.size());
+        }
+        if (progress.isCanceled()) {
+            return Status.CANCEL_STATUS;
+        }
+        progress.subTask("Updating favorites");
+        List<FavoriteEntry> imported = store.addOrGetEntries(unique.values());
+        progress.worked(1);
+        if (onImported != null && !imported.isEmpty()) {
+            onImported.accept(imported);
+        }
+        if (onFolders != null && !folders.isEmpty()) {
+            onFolders.accept(folders);
+        }
+        return Status.OK_STATUS;
+    }
+
+    static FavoriteEntry toExternalEntry(String rawPath) {
+        if (rawPath == null || rawPath.isBlank()) {
+            return null;
+        }
+        try {
+            Path path = Paths.get(rawPath);
+            FavoriteEntry entry = FavoritesStore.newExternalEntry(path);
+            BasicFileAttributes attributes = Resources.readAttributes(path);
+            entry.setStatus(attributes != null ? FavoriteEntry.Status.OK : FavoriteEntry.Status.MISSING);
+            entry.setDirectory(attributes != null && attributes.isDirectory());
+            return entry;
+        } catch (InvalidPathException ex) {
+            // ignore invalid paths from the OS drop source
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.dnd;
+
+import org.eclipse.jface.dialogs.Dialog;
+import org.eclipse.jface.dialogs.IDialogSettings;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Spinner;
+import org.eclipse.swt.widgets.Text;
+
+import com.holgersiegel.favorites.util.FavoritesPlugin;
+
+public class FolderContentsDialog extends Dialog {
+
+    private static final String SETTINGS_SECTION = "FolderContentsDialog";
+    private static final String SETTING_INCLUDES = "includes";
+    private static final String SETTING_EXCLUDES = "excludes";
+    private static final String SETTING_MAX_RESULTS = "maxResults";
+
+    private Text includesText;
+    private Text excludesText;
+    private Spinner maxResultsSpinner;
+    private FolderContentsFilter filter;
+
+    public FolderContentsDialog(Shell parentShell) {
+        super(parentShell);
+    }
+
+    public FolderContentsFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    protected void configureShell(Shell shell) {
+        super.configureShell(shell);
+        shell.setText("Ordnerinhalt hinzufügen");
+    }
+
+    @Override
+    protected Control createDialogArea(Composite parent) {
+        Composite area = (Composite) super.createDialogArea(parent);
+        Composite composite = new Composite(area, SWT.NONE);
+        composite.setLayout(new GridLayout(2, false));
+        composite.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
+        IDialogSettings settings = getSettings();
+
+        new Label(composite, SWT.NONE).setText("Einschließen:");
+        includesText = new Text(composite, SWT.BORDER);
+        includesText.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+        includesText.setText(valueOrDefault(settings.get(SETTING_INCLUDES), FolderContentsFilter.DEFAULT_INCLUDES));
+        includesText.setMessage("*.xml, config/**");
+
+        new Label(composite, SWT.NONE).setText("Ausschließen:");
+        excludesText = new Text(composite, SWT.BORDER);
+        excludesText.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+        excludesText.setText(valueOrDefault(settings.get(SETTING_EXCLUDES), FolderContentsFilter.DEFAULT_EXCLUDES));
+
+        new Label(composite, SWT.NONE).setText("Maximale Anzahl:");
+        maxResultsSpinner = new Spinner(composite, SWT.BORDER);
+        maxResultsSpinner.setValues(FolderContentsFilter.DEFAULT_MAX_RESULTS, 1, 1_000_000, 0, 100, 1000);
+        String maxResults = settings.get(SETTING_MAX_RESULTS);
+        if (maxResults != null) {
+            try {
+                maxResultsSpinner.setSelection(Integer.parseInt(maxResults));
+            } catch (NumberFormatException ex) {
+                // keep the default
+            }
+        }
+        return area;
+    }
+
+    @Override
+    protected void okPressed() {
+        filter = new FolderContentsFilter(includesText.getText(), excludesText.getText(), maxResultsSpinner.getSelection());
+        IDialogSettings settings = getSettings();
+        settings.put(SETTING_INCLUDES, filter.getIncludes());
+        settings.put(SETTING_EXCLUDES, filter.getExcludes());
+        settings.put(SETTING_MAX_RESULTS, filter.getMaxResults());
+        super.okPressed();
+    }
+
+    private IDialogSettings getSettings() {
+        IDialogSettings root = FavoritesPlugin.getDefault().getDialogSettings();
+        IDialogSettings section = root.getSection(SETTINGS_SECTION);
+        return section != null ? section : root.addNewSection(SETTINGS_SECTION);
+    }
+
+    private static String valueOrDefault(String value, String defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.dnd;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class FolderContentsFilter {
+
+    public static final String DEFAULT_INCLUDES = "*";
+    public static final String DEFAULT_EXCLUDES = ".git, .svn, node_modules";
+    public static final int DEFAULT_MAX_RESULTS = 5000;
+
+    private final String includes;
+    private final String excludes;
+    private final int maxResults;
+    private final List<PathMatcher> includeMatchers;
+    private final List<PathMatcher> excludeMatchers;
+
+    public FolderContentsFilter(String includes, String excludes, int maxResults) {
+        this.includes = includes == null ? "" : includes.trim();
+        this.excludes = excludes == null ? "" : excludes.trim();
+        this.maxResults = maxResults > 0 ? maxResults : DEFAULT_MAX_RESULTS;
+        this.includeMatchers = compile(this.includes);
+        this.excludeMatchers = compile(this.excludes);
+    }
+
+    public String getIncludes() {
+        return includes;
+    }
+
+    public String getExcludes() {
+        return excludes;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    boolean isIncluded(Path relative) {
+        return includeMatchers.isEmpty() || matches(includeMatchers, relative);
+    }
+
+    boolean isExcluded(Path relative) {
+        return matches(excludeMatchers, relative);
+    }
+
+    private static boolean matches(List<PathMatcher> matchers, Path relative) {
+        Path fileName = relative.getFileName();
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(relative) || (fileName != null && matcher.matches(fileName))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathMatcher> compile(String patterns) {
+        List<PathMatcher> matchers = new ArrayList<>();
+        for (String pattern : patterns.split("[,;]")) {
+            String trimmed = pattern.trim();
+            if (!trimmed.isEmpty()) {
+                matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + trimmed));
+            }
+        }
+        return matchers;
+    }
+}
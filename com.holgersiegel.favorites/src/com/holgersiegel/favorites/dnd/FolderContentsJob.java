@@ -0,0 +1,211 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.dnd;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.holgersiegel.favorites.model.FavoriteEntry;
+import com.holgersiegel.favorites.model.FavoritesStore;
+import com.holgersiegel.favorites.util.FavoritesPlugin;
+
+public class FolderContentsJob extends Job {
+
+    private static final int MAX_PARALLELISM = 4;
+    private static final long POLL_MILLIS = 100;
+
+    private final FavoritesStore store;
+    private final List<Path> roots;
+    private final FolderContentsFilter filter;
+    private final Consumer<List<FavoriteEntry>> onImported;
+    private final BlockingQueue<Path> results = new LinkedBlockingQueue<>();
+    private final AtomicInteger found = new AtomicInteger();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final AtomicBoolean limitReached = new AtomicBoolean();
+
+    public FolderContentsJob(FavoritesStore store, Collection<Path> roots, FolderContentsFilter filter,
+            Consumer<List<FavoriteEntry>> onImported) {
+        super("Adding folder contents to favorites");
+        this.store = Objects.requireNonNull(store, "store");
+        this.roots = new ArrayList<>(roots);
+        this.filter = Objects.requireNonNull(filter, "filter");
+        this.onImported = onImported;
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        SubMonitor progress = SubMonitor.convert(monitor, getName(), IProgressMonitor.UNKNOWN);
+        // a walk blocks on directory I/O; keep it off the common pool and bounded
+        ForkJoinPool pool = new ForkJoinPool(Math.min(MAX_PARALLELISM, Runtime.getRuntime().availableProcessors()));
+        Set<Path> paths = new LinkedHashSet<>();
+        try {
+            List<ForkJoinTask<?>> walks = new ArrayList<>();
+            for (Path root : roots) {
+                walks.add(pool.submit(new DirectoryTask(root, root)));
+            }
+            while (true) {
+                boolean finished = isDone(walks);
+                Path next = results.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    paths.add(next);
+                    results.drainTo(paths);
+                    progress.subTask(paths.size() + " files found");
+                    progress.worked(1);
+                }
+                if (progress.isCanceled()) {
+                    stopped.set(true);
+                    commit(paths);
+                    return Status.CANCEL_STATUS;
+                }
+                if (finished && results.isEmpty()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException ex) {
+            stopped.set(true);
+            Thread.currentThread().interrupt();
+            return Status.CANCEL_STATUS;
+        } finally {
+            pool.shutdownNow();
+        }
+        commit(paths);
+        if (limitReached.get()) {
+            return new Status(IStatus.INFO, FavoritesPlugin.PLUGIN_ID,
+                    "Folder contents were truncated after " + filter.getMaxResults() + " files");
+        }
+        return Status.OK_STATUS;
+    }
+
+    @Override
+    protected void canceling() {
+        stopped.set(true);
+    }
+
+    /**
+     * Adds all found files in one store update, so the favorites are saved and listeners notified once.
+     */
+    private void commit(Collection<Path> paths) {
+        if (paths.isEmpty()) {
+            return;
+        }
+        List<FavoriteEntry> entries = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            entries.add(FavoritesStore.newExternalEntry(path));
+        }
+        List<FavoriteEntry> imported = store.addOrGetEntries(entries);
+        if (onImported != null && !imported.isEmpty()) {
+            onImported.accept(imported);
+        }
+    }
+
+    private static boolean isDone(List<ForkJoinTask<?>> tasks) {
+        for (ForkJoinTask<?> task : tasks) {
+            if (!task.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final class DirectoryTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Path root;
+        private final Path directory;
+
+        DirectoryTask(Path root, Path directory) {
+            this.root = root;
+            this.directory = directory;
+        }
+
+        @Override
+        protected void compute() {
+            if (stopped.get()) {
+                return;
+            }
+            List<DirectoryTask> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                for (Path child : children) {
+                    if (stopped.get()) {
+                        break;
+                    }
+                    visit(child, subdirectories);
+                }
+            } catch (IOException | DirectoryIteratorException ex) {
+                // unreadable directories are skipped
+            }
+            invokeAll(subdirectories);
+        }
+
+        private void visit(Path child, List<DirectoryTask> subdirectories) {
+            Path relative = root.relativize(child);
+            if (filter.isExcluded(relative)) {
+                return;
+            }
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (IOException ex) {
+                return;
+            }
+            if (attributes.isDirectory()) {
+                subdirectories.add(new DirectoryTask(root, child));
+            } else if (attributes.isRegularFile() && filter.isIncluded(relative)) {
+                if (found.incrementAndGet() > filter.getMaxResults()) {
+                    limitReached.set(true);
+                    stopped.set(true);
+                    return;
+                }
+                results.add(child);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.handlers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.commands.IExecutionListenerWithChecks;
+import org.eclipse.core.commands.NotEnabledException;
+import org.eclipse.core.commands.NotHandledException;
+import org.eclipse.core.commands.common.NotDefinedException;
+import org.eclipse.ui.commands.ICommandService;
+
+import com.holgersiegel.favorites.diagnostics.UiWatchdog;
+
+/**
+ * Opens a {@link UiWatchdog} watch for the duration of every favorites command execution.
+ */
+public final class CommandWatchdog implements IExecutionListenerWithChecks {
+
+    private static final String COMMAND_PREFIX = "com.holgersiegel.favorites.commands.";
+
+    private final Deque<Execution> executions = new ArrayDeque<>();
+    private ICommandService commandService;
+
+    public void install(ICommandService service) {
+        commandService = service;
+        service.addExecutionListener(this);
+    }
+
+    public void dispose() {
+        if (commandService != null) {
+            commandService.removeExecutionListener(this);
+            commandService = null;
+        }
+        while (!executions.isEmpty()) {
+            executions.pop().watch.close();
+        }
+    }
+
+    @Override
+    public void preExecute(String commandId, ExecutionEvent event) {
+        if (commandId.startsWith(COMMAND_PREFIX)) {
+            String name = "command." + commandId.substring(COMMAND_PREFIX.length());
+            executions.push(new Execution(commandId, UiWatchdog.enter(name)));
+        }
+    }
+
+    @Override
+    public void postExecuteSuccess(String commandId, Object returnValue) {
+        finished(commandId);
+    }
+
+    @Override
+    public void postExecuteFailure(String commandId, ExecutionException exception) {
+        finished(commandId);
+    }
+
+    @Override
+    public void notHandled(String commandId, NotHandledException exception) {
+        finished(commandId);
+    }
+
+    @Override
+    public void notDefined(String commandId, NotDefinedException exception) {
+        finished(commandId);
+    }
+
+    @Override
+    public void notEnabled(String commandId, NotEnabledException exception) {
+        finished(commandId);
+    }
+
+    private void finished(String commandId) {
+        // notHandled, notDefined and notEnabled may arrive without a preExecute; only close the watch this
+        // command opened, never one of an unrelated execution further down
+        Execution top = executions.peek();
+        if (top != null && top.commandId.equals(commandId)) {
+            executions.pop().watch.close();
+        }
+    }
+
+    private static final class Execution {
+
+        private final String commandId;
+        private final UiWatchdog.Watch watch;
+
+        Execution(String commandId, UiWatchdog.Watch watch) {
+            this.commandId = commandId;
+            this.watch = watch;
+        }
+    }
+}
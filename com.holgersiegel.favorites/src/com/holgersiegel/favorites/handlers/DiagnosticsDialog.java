@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.handlers;
+
+import org.eclipse.jface.dialogs.Dialog;
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.dnd.Clipboard;
+import org.eclipse.swt.dnd.TextTransfer;
+import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+
+import com.holgersiegel.favorites.diagnostics.FavoritesDiagnostics;
+
+/**
+ * Shows the current diagnostics dump and lets the user switch collection and the UI watchdog on, reset them or copy
+ * the text.
+ */
+class DiagnosticsDialog extends Dialog {
+
+    private static final int RESET_ID = IDialogConstants.CLIENT_ID + 1;
+    private static final int COPY_ID = IDialogConstants.CLIENT_ID + 2;
+
+    private final FavoritesDiagnostics diagnostics;
+    private Text text;
+    private Button enabledButton;
+    private Button watchdogButton;
+
+    DiagnosticsDialog(Shell parentShell, FavoritesDiagnostics diagnostics) {
+        super(parentShell);
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    protected void configureShell(Shell shell) {
+        super.configureShell(shell);
+        shell.setText("Favorites Diagnostics");
+    }
+
+    @Override
+    protected boolean isResizable() {
+        return true;
+    }
+
+    @Override
+    protected Point getInitialSize() {
+        return new Point(860, 480);
+    }
+
+    @Override
+    protected Control createDialogArea(Composite parent) {
+        Composite area = (Composite) super.createDialogArea(parent);
+        enabledButton = new Button(area, SWT.CHECK);
+        enabledButton.setText("Messung aktiv");
+        enabledButton.setSelection(diagnostics.isEnabled());
+        enabledButton.addListener(SWT.Selection, event -> {
+            diagnostics.setEnabled(enabledButton.getSelection());
+            refresh();
+        });
+        watchdogButton = new Button(area, SWT.CHECK);
+        watchdogButton.setText("UI-Watchdog aktiv (Schwelle " + diagnostics.getUiWatchdogThresholdMillis() + " ms)");
+        watchdogButton.setSelection(diagnostics.isUiWatchdogEnabled());
+        watchdogButton.addListener(SWT.Selection, event -> {
+            diagnostics.setUiWatchdogEnabled(watchdogButton.getSelection());
+            refresh();
+        });
+        text = new Text(area, SWT.MULTI | SWT.READ_ONLY | SWT.BORDER | SWT.H_SCROLL | SWT.V_SCROLL);
+        text.setFont(JFaceResources.getTextFont());
+        text.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
+        refresh();
+        return area;
+    }
+
+    @Override
+    protected void createButtonsForButtonBar(Composite parent) {
+        createButton(parent, RESET_ID, "Zurücksetzen", false);
+        createButton(parent, COPY_ID, "Kopieren", false);
+        createButton(parent, IDialogConstants.CLOSE_ID, IDialogConstants.CLOSE_LABEL, true);
+    }
+
+    @Override
+    protected void buttonPressed(int buttonId) {
+        if (buttonId == RESET_ID) {
+            diagnostics.reset();
+            refresh();
+        } else if (buttonId == COPY_ID) {
+            Clipboard clipboard = new Clipboard(getShell().getDisplay());
+            try {
+                clipboard.setContents(new Object[] { text.getText() }, new Transfer[] { TextTransfer.getInstance() });
+            } finally {
+                clipboard.dispose();
+            }
+        } else if (buttonId == IDialogConstants.CLOSE_ID) {
+            close();
+        } else {
+            super.buttonPressed(buttonId);
+        }
+    }
+
+    private void refresh() {
+        text.setText(diagnostics.dump());
+    }
+}
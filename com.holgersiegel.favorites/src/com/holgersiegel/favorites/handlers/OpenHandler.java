@@ -27,6 +27,7 @@ import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.eclipse.core.commands.AbstractHandler;
@@ -38,7 +39,10 @@ import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
@@ -48,11 +52,14 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IViewPart;
 import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.handlers.HandlerUtil;
+import org.eclipse.ui.ide.FileStoreEditorInput;
 import org.eclipse.ui.ide.IDE;
 import org.eclipse.ui.part.ISetSelectionTarget;
 
+import com.holgersiegel.favorites.diagnostics.UiWatchdog;
 import com.holgersiegel.favorites.model.FavoriteEntry;
 import com.holgersiegel.favorites.util.FavoritesPlugin;
 import com.holgersiegel.favorites.util.Resources;
@@ -62,6 +69,9 @@ public class OpenHandler extends AbstractHandler {
     private static final String TITLE = "Favorites";
     private static final String PACKAGE_EXPLORER_ID = "org.eclipse.jdt.ui.PackageExplorer";
     private static final String PROJECT_EXPLORER_ID = "org.eclipse.ui.navigator.ProjectExplorer";
+    private static final String PREF_KEY_MAX_EDITORS = "open.maxEditors";
+    private static final int DEFAULT_MAX_EDITORS = 20;
+    private static final int MAX_REPORTED_FAILURES = 15;
 
     @Override
     public Object execute(ExecutionEvent event) throws ExecutionException {
@@ -77,49 +87,65 @@ public class OpenHandler extends AbstractHandler {
         if (page == null) {
             return null;
         }
-        List<IResource> toReveal = new ArrayList<>();
+        List<FavoriteEntry> entries = new ArrayList<>();
         for (Object element : structured.toArray()) {
             if (element instanceof FavoriteEntry) {
-                handleEntry(page, (FavoriteEntry) element, toReveal);
+                entries.add((FavoriteEntry) element);
             }
         }
-        if (!toReveal.isEmpty()) {
-            reveal(page, new StructuredSelection(toReveal));
-        }
+        open(page, entries);
         return null;
     }
 
-    private void handleEntry(IWorkbenchPage page, FavoriteEntry entry, List<IResource> toReveal) {
-        if (entry.getStatus() == FavoriteEntry.Status.MISSING) {
-            showInfo("Eintrag ist nicht mehr vorhanden: " + describe(entry));
+    public void open(IWorkbenchPage page, Collection<FavoriteEntry> entries) {
+        if (page == null || entries == null || entries.isEmpty()) {
             return;
         }
+        List<FavoriteEntry> snapshot = new ArrayList<>(entries.size());
+        for (FavoriteEntry entry : entries) {
+            if (entry != null) {
+                snapshot.add(entry);
+            }
+        }
+        IWorkbenchWindow window = page.getWorkbenchWindow();
+        Display display = window.getShell().getDisplay();
+        Job job = Job.create("Opening favorites", monitor -> {
+            SubMonitor progress = SubMonitor.convert(monitor, snapshot.size());
+            OpenPlan plan = new OpenPlan();
+            for (FavoriteEntry entry : snapshot) {
+                if (progress.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+                resolve(entry, plan);
+                progress.worked(1);
+            }
+            display.asyncExec(UiWatchdog.wrap("open.openAll", () -> {
+                Shell shell = window.getShell();
+                if (shell != null && !shell.isDisposed()) {
+                    openAll(page, plan);
+                }
+            }));
+            return Status.OK_STATUS;
+        });
+        job.setPriority(Job.INTERACTIVE);
+        job.schedule();
+    }
+
+    private void resolve(FavoriteEntry entry, OpenPlan plan) {
+        // the cached status may be stale; only the workspace or the disk can tell whether the entry is gone
         if (entry.isWorkspaceResource()) {
             IResource resource = Resources.resolveWorkspaceResource(entry);
-            if (resource == null) {
-                showInfo("Workspace-Ressource nicht gefunden: " + describe(entry));
+            if (resource == null || !resource.exists()) {
+                plan.failures.add("Workspace-Ressource nicht gefunden: " + describe(entry));
                 return;
             }
             if (resource instanceof IFile) {
-                openWorkspaceFile(page, (IFile) resource);
+                plan.editors.add(new EditorTarget((IFile) resource, null, resource.getName()));
             } else if (resource instanceof IContainer) {
-                toReveal.add(resource);
+                plan.toReveal.add(resource);
             }
             return;
         }
-        openExternal(page, entry);
-    }
-
-    private void openWorkspaceFile(IWorkbenchPage page, IFile file) {
-        try {
-            IDE.openEditor(page, file, true);
-        } catch (PartInitException ex) {
-            log("Datei konnte nicht geöffnet werden: " + file.getName(), ex);
-            showInfo("Datei konnte nicht geöffnet werden: " + file.getName());
-        }
-    }
-
-    private void openExternal(IWorkbenchPage page, FavoriteEntry entry) {
         String rawPath = entry.getAbsolutePath();
         if (rawPath == null || rawPath.isBlank()) {
             return;
@@ -127,21 +153,75 @@ public class OpenHandler extends AbstractHandler {
         try {
             Path path = Path.of(rawPath);
             if (Files.isDirectory(path)) {
-                Program.launch(path.toString());
+                plan.directories.add(path);
                 return;
             }
             if (!Files.exists(path)) {
-                showInfo("Datei nicht gefunden: " + rawPath);
+                plan.failures.add("Datei nicht gefunden: " + rawPath);
                 return;
             }
             IFileStore store = EFS.getLocalFileSystem().getStore(path.toUri());
-            IDE.openEditorOnFileStore(page, store);
+            plan.editors.add(new EditorTarget(null, store, rawPath));
         } catch (InvalidPathException ex) {
-            showInfo("Ungültiger Pfad: " + rawPath);
+            plan.failures.add("Ungültiger Pfad: " + rawPath);
+        }
+    }
+
+    private void openAll(IWorkbenchPage page, OpenPlan plan) {
+        List<EditorTarget> editors = plan.editors;
+        int maxEditors = Math.max(1, Platform.getPreferencesService().getInt(FavoritesPlugin.PLUGIN_ID,
+                PREF_KEY_MAX_EDITORS, DEFAULT_MAX_EDITORS, null));
+        if (editors.size() > maxEditors) {
+            plan.failures.add("Nur die ersten " + maxEditors + " von " + editors.size() + " Dateien wurden geöffnet.");
+            editors = editors.subList(0, maxEditors);
+        }
+        for (int i = 0; i < editors.size(); i++) {
+            openEditor(page, editors.get(i), i == editors.size() - 1, plan.failures);
+        }
+        for (Path directory : plan.directories) {
+            Program.launch(directory.toString());
+        }
+        if (!plan.toReveal.isEmpty()) {
+            reveal(page, new StructuredSelection(plan.toReveal));
+        }
+        reportFailures(plan.failures);
+    }
+
+    private void openEditor(IWorkbenchPage page, EditorTarget target, boolean activate, List<String> failures) {
+        if (target.file != null) {
+            try {
+                IDE.openEditor(page, target.file, activate);
+            } catch (PartInitException ex) {
+                log("Datei konnte nicht geöffnet werden: " + target.label, ex);
+                failures.add("Datei konnte nicht geöffnet werden: " + target.label);
+            }
+            return;
+        }
+        try {
+            String editorId = IDE.getEditorDescriptorForFileStore(target.store, false).getId();
+            page.openEditor(new FileStoreEditorInput(target.store), editorId, activate);
         } catch (PartInitException ex) {
             log("Kein Editor für Pfad", ex);
-            showInfo("Keine passende Editor-Zuordnung für: " + rawPath);
+            failures.add("Keine passende Editor-Zuordnung für: " + target.label);
+        }
+    }
+
+    private void reportFailures(List<String> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder();
+        int reported = Math.min(failures.size(), MAX_REPORTED_FAILURES);
+        for (int i = 0; i < reported; i++) {
+            if (i > 0) {
+                message.append('\n');
+            }
+            message.append(failures.get(i));
+        }
+        if (failures.size() > reported) {
+            message.append("\n... und ").append(failures.size() - reported).append(" weitere");
         }
+        showInfo(message.toString());
     }
 
     private void reveal(IWorkbenchPage page, StructuredSelection selection) {
@@ -188,4 +268,25 @@ public class OpenHandler extends AbstractHandler {
         String path = entry.getAbsolutePath();
         return path == null ? "<unbekannt>" : path;
     }
+
+    private static final class OpenPlan {
+
+        private final List<EditorTarget> editors = new ArrayList<>();
+        private final List<Path> directories = new ArrayList<>();
+        private final List<IResource> toReveal = new ArrayList<>();
+        private final List<String> failures = new ArrayList<>();
+    }
+
+    private static final class EditorTarget {
+
+        private final IFile file;
+        private final IFileStore store;
+        private final String label;
+
+        EditorTarget(IFile file, IFileStore store, String label) {
+            this.file = file;
+            this.store = store;
+            this.label = label;
+        }
+    }
 }
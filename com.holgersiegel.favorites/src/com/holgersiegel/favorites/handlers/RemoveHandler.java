@@ -57,7 +57,7 @@ public class RemoveHandler extends AbstractHandler {
             IStructuredSelection structured = (IStructuredSelection) selection;
             if (!structured.isEmpty()) {
                 enabled = true;
-                for (Object element : structured.toArray()) {
+                for (Object element : structured) {
                     if (!(element instanceof FavoriteEntry)) {
                         enabled = false;
                         break;
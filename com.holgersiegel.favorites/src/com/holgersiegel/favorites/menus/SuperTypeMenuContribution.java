@@ -1,33 +1,36 @@
 package com.holgersiegel.favorites.menus;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Deque;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
 
-import org.eclipse.core.resources.IFile;
-import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.jdt.core.IClassFile;
-import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.ITypeHierarchy;
-import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.ui.ISharedImages;
+import org.eclipse.jdt.ui.JavaElementLabels;
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.ActionContributionItem;
 import org.eclipse.jface.action.IContributionItem;
+import org.eclipse.jface.action.IMenuListener2;
+import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.MenuManager;
+import org.eclipse.jface.action.Separator;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Menu;
 import org.eclipse.ui.ISelectionService;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PartInitException;
@@ -35,14 +38,18 @@ import org.eclipse.ui.actions.CompoundContributionItem;
 import org.eclipse.ui.menus.IWorkbenchContribution;
 import org.eclipse.ui.services.IServiceLocator;
 
+import com.holgersiegel.favorites.diagnostics.UiWatchdog;
 import com.holgersiegel.favorites.model.FavoriteEntry;
 import com.holgersiegel.favorites.util.FavoritesPlugin;
-import com.holgersiegel.favorites.util.Resources;
 import com.holgersiegel.favorites.views.FavoritesView;
 
 public class SuperTypeMenuContribution extends CompoundContributionItem implements IWorkbenchContribution {
 
     private static final String MENU_LABEL = "Superklassen / Interfaces";
+    private static final String SUBTYPES_LABEL = "Subtypen";
+    private static final String MEMBERS_LABEL = "Member";
+    private static final String COMPUTING_LABEL = "Wird berechnet…";
+    private static final int MAX_MENU_ITEMS = 100;
 
     private IServiceLocator serviceLocator;
 
@@ -53,27 +60,93 @@ public class SuperTypeMenuContribution extends CompoundContributionItem implemen
 
     @Override
     protected IContributionItem[] getContributionItems() {
+        try (UiWatchdog.Watch watch = UiWatchdog.enter("menu.supertypes")) {
+            return createContributionItems();
+        }
+    }
+
+    private IContributionItem[] createContributionItems() {
         FavoriteEntry entry = findSelectedFavorite();
-        List<IType> superTypes = entry == null ? Collections.emptyList() : collectSupertypes(entry);
-        final boolean hasTypes = !superTypes.isEmpty();
-        MenuManager manager = new MenuManager(MENU_LABEL) {
+        IType type = TypeHierarchyCache.primaryTypeHandle(entry);
+        TypeMenu manager = new TypeMenu();
+        if (type == null) {
+            fill(manager, Collections.emptyList());
+            return new IContributionItem[] { manager };
+        }
+        TypeHierarchyCache cache = FavoritesPlugin.getDefault().getTypeHierarchyCache();
+        List<IType> cached = cache.getSupertypes(type);
+        LazyMenu subtypes = new LazyMenu(SUBTYPES_LABEL, "Keine Subtypen verfügbar", new Loader() {
             @Override
-            public boolean isEnabled() {
-                return hasTypes;
+            public List<? extends IJavaElement> cached() {
+                return cache.getSubtypes(type);
+            }
+
+            @Override
+            public List<? extends IJavaElement> load(IProgressMonitor monitor) throws JavaModelException {
+                return cache.computeSubtypes(type, MAX_MENU_ITEMS, monitor);
+            }
+
+            @Override
+            public boolean isLimited() {
+                return true;
+            }
+        });
+        LazyMenu members = new LazyMenu(MEMBERS_LABEL, "Keine Member verfügbar", new Loader() {
+            @Override
+            public List<? extends IJavaElement> load(IProgressMonitor monitor) throws JavaModelException {
+                return collectMembers(type);
+            }
+        });
+        IContributionItem[] items = new IContributionItem[] { manager, subtypes, members };
+        if (cached != null) {
+            fill(manager, cached);
+            return items;
+        }
+        manager.add(disabledAction(COMPUTING_LABEL));
+        Display display = Display.getCurrent();
+        cache.requestSupertypes(type, superTypes -> {
+            if (!display.isDisposed()) {
+                display.asyncExec(UiWatchdog.wrap("menu.supertypesLoaded", () -> {
+                    fill(manager, superTypes);
+                    manager.update(true);
+                }));
+            }
+        });
+        return items;
+    }
+
+    private void fill(TypeMenu manager, List<IType> superTypes) {
+        manager.removeAll();
+        manager.enabled = !superTypes.isEmpty();
+        if (superTypes.isEmpty()) {
+            manager.add(disabledAction("Keine Superklassen oder Interfaces verfügbar"));
+            return;
+        }
+        for (IType type : superTypes) {
+            manager.add(createOpenItem(type));
+        }
+    }
+
+    private List<IMember> collectMembers(IType type) throws JavaModelException {
+        IType resolved = TypeHierarchyCache.resolveExisting(type);
+        if (resolved == null) {
+            return Collections.emptyList();
+        }
+        List<IMember> members = new ArrayList<>();
+        for (IJavaElement child : resolved.getChildren()) {
+            if (child instanceof IMember member && !(child instanceof IInitializer)) {
+                members.add(member);
             }
-        };
-        if (hasTypes) {
-            for (IType type : superTypes) {
-                manager.add(createOpenTypeItem(type));
-            }
-        } else {
-            manager.add(new Action("Keine Superklassen oder Interfaces verfügbar") {
-                {
-                    setEnabled(false);
-                }
-            });
         }
-        return new IContributionItem[] { manager };
+        return members;
+    }
+
+    private Action disabledAction(String label) {
+        return new Action(label) {
+            {
+                setEnabled(false);
+            }
+        };
     }
 
     private FavoriteEntry findSelectedFavorite() {
@@ -100,108 +173,50 @@ public class SuperTypeMenuContribution extends CompoundContributionItem implemen
         return element instanceof FavoriteEntry ? (FavoriteEntry) element : null;
     }
 
-    private List<IType> collectSupertypes(FavoriteEntry entry) {
-        IType type = resolveType(entry);
-        if (type == null || !type.exists()) {
-            return Collections.emptyList();
-        }
-        try {
-            ITypeHierarchy hierarchy = type.newSupertypeHierarchy(null);
-            List<IType> result = new ArrayList<>();
-            collectSuperclasses(type, hierarchy, result);
-            collectInterfaces(type, hierarchy, result);
-            return result;
-        } catch (JavaModelException ex) {
-            log("Failed to resolve supertypes", ex);
-            return Collections.emptyList();
-        }
-    }
-
-    private void collectSuperclasses(IType type, ITypeHierarchy hierarchy, List<IType> collector) throws JavaModelException {
-        IType current = hierarchy.getSuperclass(type);
-        while (current != null && current.exists()) {
-            collector.add(current);
-            current = hierarchy.getSuperclass(current);
-        }
-    }
-
-    private void collectInterfaces(IType type, ITypeHierarchy hierarchy, List<IType> collector) throws JavaModelException {
-        Set<IType> visited = new LinkedHashSet<>();
-        Deque<IType> queue = new ArrayDeque<>();
-        Collections.addAll(queue, hierarchy.getSuperInterfaces(type));
-        while (!queue.isEmpty()) {
-            IType iface = queue.removeFirst();
-            if (iface == null || !iface.exists() || !visited.add(iface)) {
-                continue;
-            }
-            collector.add(iface);
-            Collections.addAll(queue, hierarchy.getSuperInterfaces(iface));
-        }
-    }
-
-    private IType resolveType(FavoriteEntry entry) {
-        IResource resource = Resources.resolveWorkspaceResource(entry);
-        if (resource instanceof IFile) {
-            IJavaElement element = JavaCore.create(resource);
-            return toPrimaryType(element);
-        }
-        return null;
-    }
-
-    private IType toPrimaryType(IJavaElement javaElement) {
-        if (javaElement == null) {
-            return null;
-        }
-        try {
-            if (javaElement instanceof ICompilationUnit compilationUnit) {
-                IType primary = compilationUnit.findPrimaryType();
-                if (primary != null && primary.exists()) {
-                    return primary;
-                }
-                IType[] allTypes = compilationUnit.getAllTypes();
-                return allTypes.length > 0 ? allTypes[0] : null;
-            }
-            if (javaElement instanceof IClassFile classFile) {
-                return classFile.getType();
-            }
-            if (javaElement instanceof IType type) {
-                return type;
-            }
-        } catch (JavaModelException ex) {
-            log("Failed to access Java element", ex);
-        }
-        return null;
-    }
-
-    private IContributionItem createOpenTypeItem(IType type) {
-        String label = type.getFullyQualifiedName('.');
+    private IContributionItem createOpenItem(IJavaElement element) {
+        String label = element instanceof IType type ? type.getFullyQualifiedName('.')
+                : JavaElementLabels.getElementLabel(element, JavaElementLabels.M_PARAMETER_TYPES | JavaElementLabels.F_APP_TYPE_SIGNATURE);
         Action action = new Action(label) {
             @Override
             public void run() {
-                openType(type);
+                openElement(element);
             }
         };
-        action.setImageDescriptor(iconFor(type));
+        action.setImageDescriptor(iconFor(element));
         return new ActionContributionItem(action);
     }
 
-    private ImageDescriptor iconFor(IType type) {
+    private ImageDescriptor iconFor(IJavaElement element) {
         ISharedImages images = JavaUI.getSharedImages();
         String key;
         try {
-            key = type.isInterface() ? ISharedImages.IMG_OBJS_INTERFACE : ISharedImages.IMG_OBJS_CLASS;
+            if (element instanceof IType type) {
+                key = type.isInterface() ? ISharedImages.IMG_OBJS_INTERFACE : ISharedImages.IMG_OBJS_CLASS;
+            } else if (element instanceof IField field) {
+                int flags = field.getFlags();
+                key = Flags.isPublic(flags) ? ISharedImages.IMG_FIELD_PUBLIC
+                        : Flags.isProtected(flags) ? ISharedImages.IMG_FIELD_PROTECTED
+                        : Flags.isPrivate(flags) ? ISharedImages.IMG_FIELD_PRIVATE : ISharedImages.IMG_FIELD_DEFAULT;
+            } else if (element instanceof IMember member) {
+                int flags = member.getFlags();
+                key = Flags.isPublic(flags) ? ISharedImages.IMG_OBJS_PUBLIC
+                        : Flags.isProtected(flags) ? ISharedImages.IMG_OBJS_PROTECTED
+                        : Flags.isPrivate(flags) ? ISharedImages.IMG_OBJS_PRIVATE : ISharedImages.IMG_OBJS_DEFAULT;
+            } else {
+                key = ISharedImages.IMG_OBJS_CLASS;
+            }
         } catch (JavaModelException ex) {
-            log("Failed to determine type category", ex);
+            log("Failed to determine element category", ex);
             key = ISharedImages.IMG_OBJS_CLASS;
         }
         return images.getImageDescriptor(key);
     }
 
-    private void openType(IType type) {
+    private void openElement(IJavaElement element) {
         try {
-            JavaUI.openInEditor(type);
+            JavaUI.openInEditor(element);
         } catch (PartInitException | JavaModelException ex) {
-            log("Failed to open type in editor", ex);
+            log("Failed to open Java element in editor", ex);
         }
     }
 
@@ -211,4 +226,129 @@ public class SuperTypeMenuContribution extends CompoundContributionItem implemen
             plugin.getLog().log(new Status(IStatus.ERROR, FavoritesPlugin.PLUGIN_ID, message, ex));
         }
     }
+
+    private static final class TypeMenu extends MenuManager {
+
+        private boolean enabled = true;
+
+        TypeMenu() {
+            super(MENU_LABEL);
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+    }
+
+    private interface Loader {
+
+        default List<? extends IJavaElement> cached() {
+            return null;
+        }
+
+        /**
+         * Whether {@link #load} stops after {@code MAX_MENU_ITEMS + 1} elements, so the number of the remaining
+         * ones is unknown.
+         */
+        default boolean isLimited() {
+            return false;
+        }
+
+        List<? extends IJavaElement> load(IProgressMonitor monitor) throws JavaModelException;
+    }
+
+    private final class LazyMenu extends MenuManager implements IMenuListener2 {
+
+        private final String emptyLabel;
+        private final Loader loader;
+        private List<? extends IJavaElement> result;
+        private Job job;
+
+        LazyMenu(String label, String emptyLabel, Loader loader) {
+            super(label);
+            this.emptyLabel = emptyLabel;
+            this.loader = loader;
+            setRemoveAllWhenShown(true);
+            addMenuListener(this);
+            add(disabledAction(COMPUTING_LABEL));
+        }
+
+        @Override
+        public void menuAboutToShow(IMenuManager manager) {
+            if (result == null) {
+                result = loader.cached();
+            }
+            if (result != null) {
+                fillElements();
+                return;
+            }
+            add(disabledAction(COMPUTING_LABEL));
+            if (job != null) {
+                return;
+            }
+            Display display = Display.getCurrent();
+            Job loadJob = Job.create("Computing " + getMenuText(), monitor -> {
+                List<? extends IJavaElement> elements;
+                try {
+                    elements = loader.load(monitor);
+                } catch (OperationCanceledException ex) {
+                    return Status.CANCEL_STATUS;
+                } catch (JavaModelException ex) {
+                    log("Failed to compute " + getMenuText(), ex);
+                    elements = Collections.emptyList();
+                }
+                if (monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+                List<? extends IJavaElement> loaded = elements;
+                Job self = Job.getJobManager().currentJob();
+                if (!display.isDisposed()) {
+                    display.asyncExec(UiWatchdog.wrap("menu.lazyLoaded", () -> loaded(self, loaded)));
+                }
+                return Status.OK_STATUS;
+            });
+            loadJob.setSystem(true);
+            job = loadJob;
+            loadJob.schedule();
+        }
+
+        @Override
+        public void menuAboutToHide(IMenuManager manager) {
+            if (job != null) {
+                job.cancel();
+                job = null;
+            }
+        }
+
+        private void loaded(Job source, List<? extends IJavaElement> elements) {
+            if (job == null || job != source) {
+                return;
+            }
+            job = null;
+            result = elements;
+            Menu menu = getMenu();
+            if (menu != null && !menu.isDisposed() && menu.isVisible()) {
+                removeAll();
+                fillElements();
+                update(true);
+            }
+        }
+
+        private void fillElements() {
+            if (result.isEmpty()) {
+                add(disabledAction(emptyLabel));
+                return;
+            }
+            int shown = Math.min(result.size(), MAX_MENU_ITEMS);
+            for (int i = 0; i < shown; i++) {
+                add(createOpenItem(result.get(i)));
+            }
+            if (result.size() > shown) {
+                add(new Separator());
+                add(disabledAction(loader.isLimited() ? "Weitere nicht angezeigt"
+                        : (result.size() - shown) + " weitere nicht angezeigt"));
+            }
+        }
+    }
 }
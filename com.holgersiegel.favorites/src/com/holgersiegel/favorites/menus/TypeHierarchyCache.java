@@ -0,0 +1,395 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.menus;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import com.holgersiegel.favorites.diagnostics.Operation;
+import com.holgersiegel.favorites.diagnostics.Probe;
+import com.holgersiegel.favorites.diagnostics.Span;
+import com.holgersiegel.favorites.model.FavoriteEntry;
+import com.holgersiegel.favorites.util.FavoritesPlugin;
+import com.holgersiegel.favorites.util.Resources;
+
+/**
+ * Caches supertype and subtype lists per {@link IType} handle and computes missing ones in background jobs.
+ */
+public class TypeHierarchyCache implements IElementChangedListener {
+
+    private static final int STRUCTURE_FLAGS = IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_CLASSPATH_CHANGED
+            | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+            | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED;
+
+    private final Map<IType, List<IType>> supertypes = new ConcurrentHashMap<>();
+    private final Map<IType, List<IType>> subtypes = new ConcurrentHashMap<>();
+    private final Map<IType, SupertypeJob> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger generation = new AtomicInteger();
+
+    public TypeHierarchyCache() {
+        JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+    }
+
+    public static IType primaryTypeHandle(FavoriteEntry entry) {
+        if (entry == null || !entry.isWorkspaceResource()) {
+            return null;
+        }
+        IResource resource = Resources.resolveWorkspaceResource(entry);
+        if (!(resource instanceof IFile)) {
+            return null;
+        }
+        IJavaElement element = JavaCore.create(resource);
+        if (element instanceof ICompilationUnit compilationUnit) {
+            String name = compilationUnit.getElementName();
+            int dot = name.lastIndexOf('.');
+            return compilationUnit.getType(dot < 0 ? name : name.substring(0, dot));
+        }
+        if (element instanceof IClassFile classFile) {
+            return classFile.getType();
+        }
+        return null;
+    }
+
+    public List<IType> getSupertypes(IType type) {
+        return type == null ? null : supertypes.get(type);
+    }
+
+    public List<IType> getSubtypes(IType type) {
+        return type == null ? null : subtypes.get(type);
+    }
+
+    /**
+     * Computes the subtypes of {@code type}, but stops searching once {@code limit + 1} are found; a result of that
+     * size means there are more than {@code limit}.
+     */
+    public List<IType> computeSubtypes(IType type, int limit, IProgressMonitor monitor) throws JavaModelException {
+        int requested = generation.get();
+        IType resolved = resolveExisting(type);
+        if (resolved == null) {
+            return Collections.emptyList();
+        }
+        List<IType> result;
+        try (Span span = Probe.start(Operation.SUBTYPE_HIERARCHY)) {
+            result = searchSubtypes(resolved, limit + 1, monitor);
+            if (span.isRecording()) {
+                span.items(result.size()).detail(resolved.getFullyQualifiedName());
+            }
+        }
+        if (!monitor.isCanceled() && requested == generation.get()) {
+            subtypes.put(type, result);
+        }
+        return result;
+    }
+
+    public synchronized void requestSupertypes(IType type, Consumer<List<IType>> callback) {
+        if (type == null) {
+            return;
+        }
+        List<IType> cached = supertypes.get(type);
+        if (cached != null) {
+            if (callback != null) {
+                callback.accept(cached);
+            }
+            return;
+        }
+        SupertypeJob job = pending.get(type);
+        if (job == null) {
+            job = new SupertypeJob(type, generation.get());
+            pending.put(type, job);
+            job.schedule();
+        }
+        if (callback != null) {
+            job.callbacks.add(callback);
+        }
+    }
+
+    public Job prefetch(List<IType> types) {
+        List<IType> snapshot = new ArrayList<>(types);
+        Job job = Job.create("Prefetching type hierarchies", monitor -> {
+            for (IType type : snapshot) {
+                if (monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+                SupertypeJob claimed = claim(type);
+                if (claimed != null && !resolve(claimed, monitor).isOK()) {
+                    return Status.CANCEL_STATUS;
+                }
+            }
+            return Status.OK_STATUS;
+        });
+        job.setSystem(true);
+        job.setPriority(Job.DECORATE);
+        job.schedule();
+        return job;
+    }
+
+    private synchronized SupertypeJob claim(IType type) {
+        if (type == null || supertypes.containsKey(type) || pending.containsKey(type)) {
+            return null;
+        }
+        SupertypeJob job = new SupertypeJob(type, generation.get());
+        pending.put(type, job);
+        return job;
+    }
+
+    private IStatus resolve(SupertypeJob job, IProgressMonitor monitor) {
+        List<IType> result;
+        try {
+            result = computeSupertypes(job.type, monitor);
+        } catch (OperationCanceledException ex) {
+            result = null;
+        } catch (JavaModelException ex) {
+            log("Failed to resolve supertypes", ex);
+            result = Collections.emptyList();
+        }
+        if (result == null || monitor.isCanceled()) {
+            abandon(job);
+            return Status.CANCEL_STATUS;
+        }
+        complete(job, result);
+        return Status.OK_STATUS;
+    }
+
+    private synchronized void abandon(SupertypeJob job) {
+        if (pending.get(job.type) != job) {
+            return;
+        }
+        if (job.callbacks.isEmpty() || job.getState() != Job.NONE) {
+            pending.remove(job.type, job);
+        } else {
+            job.schedule();
+        }
+    }
+
+    public void dispose() {
+        JavaCore.removeElementChangedListener(this);
+        for (SupertypeJob job : pending.values()) {
+            job.cancel();
+        }
+        pending.clear();
+        supertypes.clear();
+        subtypes.clear();
+    }
+
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        if ((!supertypes.isEmpty() || !subtypes.isEmpty()) && affectsHierarchies(event.getDelta())) {
+            generation.incrementAndGet();
+            supertypes.clear();
+            subtypes.clear();
+        }
+    }
+
+    private boolean affectsHierarchies(IJavaElementDelta delta) {
+        if ((delta.getFlags() & STRUCTURE_FLAGS) != 0) {
+            return true;
+        }
+        IJavaElement element = delta.getElement();
+        int kind = delta.getKind();
+        if (element instanceof IType && kind != IJavaElementDelta.CHANGED) {
+            return true;
+        }
+        if (element instanceof ICompilationUnit) {
+            if (kind != IJavaElementDelta.CHANGED) {
+                return true;
+            }
+            if ((delta.getFlags() & IJavaElementDelta.F_CONTENT) != 0
+                    && (delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+                return true;
+            }
+        }
+        for (IJavaElementDelta child : delta.getAffectedChildren()) {
+            if (affectsHierarchies(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void complete(SupertypeJob job, List<IType> result) {
+        List<Consumer<List<IType>>> callbacks;
+        synchronized (this) {
+            pending.remove(job.type, job);
+            if (job.generation == generation.get()) {
+                supertypes.put(job.type, result);
+            }
+            callbacks = new ArrayList<>(job.callbacks);
+        }
+        for (Consumer<List<IType>> callback : callbacks) {
+            callback.accept(result);
+        }
+    }
+
+    private static List<IType> computeSupertypes(IType type, IProgressMonitor monitor) throws JavaModelException {
+        IType resolved = resolveExisting(type);
+        if (resolved == null) {
+            return Collections.emptyList();
+        }
+        try (Span span = Probe.start(Operation.SUPERTYPE_HIERARCHY)) {
+            ITypeHierarchy hierarchy = resolved.newSupertypeHierarchy(monitor);
+            List<IType> result = new ArrayList<>();
+            collectSuperclasses(resolved, hierarchy, result);
+            collectInterfaces(resolved, hierarchy, result);
+            if (span.isRecording()) {
+                span.items(result.size()).detail(resolved.getFullyQualifiedName());
+            }
+            return Collections.unmodifiableList(result);
+        }
+    }
+
+    /**
+     * Walks the direct subtypes breadth first with the search engine instead of building the full hierarchy, so the
+     * walk can end as soon as {@code max} types are found.
+     */
+    private static List<IType> searchSubtypes(IType type, int max, IProgressMonitor monitor) throws JavaModelException {
+        IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] { type.getJavaProject() });
+        SearchParticipant[] participants = new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() };
+        SearchEngine engine = new SearchEngine();
+        Set<IType> found = new LinkedHashSet<>();
+        Deque<IType> queue = new ArrayDeque<>();
+        queue.add(type);
+        SearchRequestor requestor = new SearchRequestor() {
+            @Override
+            public void acceptSearchMatch(SearchMatch match) {
+                if (match.getElement() instanceof IType subtype && !subtype.equals(type) && found.add(subtype)) {
+                    queue.add(subtype);
+                    if (found.size() >= max) {
+                        throw new OperationCanceledException();
+                    }
+                }
+            }
+        };
+        try {
+            while (!queue.isEmpty() && found.size() < max) {
+                SearchPattern pattern = SearchPattern.createPattern(queue.removeFirst(), IJavaSearchConstants.IMPLEMENTORS);
+                try {
+                    engine.search(pattern, participants, scope, requestor, monitor);
+                } catch (CoreException ex) {
+                    throw ex instanceof JavaModelException javaModelException ? javaModelException
+                            : new JavaModelException(ex);
+                }
+            }
+        } catch (OperationCanceledException ex) {
+            if (found.size() < max) {
+                throw ex;
+            }
+        }
+        return List.copyOf(found);
+    }
+
+    static IType resolveExisting(IType type) throws JavaModelException {
+        if (type.exists()) {
+            return type;
+        }
+        ICompilationUnit compilationUnit = type.getCompilationUnit();
+        if (compilationUnit == null || !compilationUnit.exists()) {
+            return null;
+        }
+        IType[] allTypes = compilationUnit.getAllTypes();
+        return allTypes.length > 0 ? allTypes[0] : null;
+    }
+
+    private static void collectSuperclasses(IType type, ITypeHierarchy hierarchy, List<IType> collector) {
+        IType current = hierarchy.getSuperclass(type);
+        while (current != null && current.exists()) {
+            collector.add(current);
+            current = hierarchy.getSuperclass(current);
+        }
+    }
+
+    private static void collectInterfaces(IType type, ITypeHierarchy hierarchy, List<IType> collector) {
+        Set<IType> visited = new LinkedHashSet<>();
+        Deque<IType> queue = new ArrayDeque<>();
+        Collections.addAll(queue, hierarchy.getSuperInterfaces(type));
+        while (!queue.isEmpty()) {
+            IType iface = queue.removeFirst();
+            if (iface == null || !iface.exists() || !visited.add(iface)) {
+                continue;
+            }
+            collector.add(iface);
+            Collections.addAll(queue, hierarchy.getSuperInterfaces(iface));
+        }
+    }
+
+    private static void log(String message, Exception ex) {
+        FavoritesPlugin plugin = FavoritesPlugin.getDefault();
+        if (plugin != null) {
+            plugin.getLog().log(new Status(IStatus.ERROR, FavoritesPlugin.PLUGIN_ID, message, ex));
+        }
+    }
+
+    private final class SupertypeJob extends Job {
+
+        private final IType type;
+        private final int generation;
+        private final List<Consumer<List<IType>>> callbacks = new ArrayList<>();
+
+        SupertypeJob(IType type, int generation) {
+            super("Resolving supertypes of " + type.getElementName());
+            this.type = type;
+            this.generation = generation;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            return resolve(this, monitor);
+        }
+    }
+}
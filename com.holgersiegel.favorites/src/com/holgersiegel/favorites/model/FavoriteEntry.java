@@ -23,6 +23,7 @@
  */
 package com.holgersiegel.favorites.model;
 
+import java.text.CollationKey;
 import java.util.Objects;
 
 import com.holgersiegel.favorites.util.Resources;
@@ -40,6 +41,11 @@ public class FavoriteEntry {
     private String label;
     private Status status;
     private String comment;
+    private boolean directory;
+    private String key;
+    private volatile CollationKey nameSortKey;
+    private volatile CollationKey pathSortKey;
+    private volatile CollationKey commentSortKey;
 
     public FavoriteEntry(String absolutePath, boolean workspaceResource, String workspacePath, String label, Status status) {
         this(absolutePath, workspaceResource, workspacePath, label, status, null);
@@ -60,6 +66,9 @@ public class FavoriteEntry {
 
     public void setAbsolutePath(String absolutePath) {
         this.absolutePath = absolutePath;
+        this.key = null;
+        this.pathSortKey = null;
+        this.nameSortKey = null;
     }
 
     public boolean isWorkspaceResource() {
@@ -80,6 +89,7 @@ public class FavoriteEntry {
 
     public void setLabel(String label) {
         this.label = label;
+        this.nameSortKey = null;
     }
 
     public String getComment() {
@@ -92,6 +102,7 @@ public class FavoriteEntry {
         } else {
             this.comment = comment;
         }
+        this.commentSortKey = null;
     }
 
     public boolean hasComment() {
@@ -106,12 +117,51 @@ public class FavoriteEntry {
         this.status = status == null ? Status.OK : status;
     }
 
+    public boolean isDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(boolean directory) {
+        this.directory = directory;
+    }
+
     public boolean isMissing() {
         return status == Status.MISSING;
     }
 
+    CollationKey getSortKey(FavoritesSorter.Column column) {
+        switch (column) {
+        case PATH:
+            CollationKey path = pathSortKey;
+            if (path == null) {
+                path = FavoritesSorter.collationKey(absolutePath);
+                pathSortKey = path;
+            }
+            return path;
+        case COMMENT:
+            CollationKey commentKey = commentSortKey;
+            if (commentKey == null) {
+                commentKey = FavoritesSorter.collationKey(comment);
+                commentSortKey = commentKey;
+            }
+            return commentKey;
+        default:
+            CollationKey name = nameSortKey;
+            if (name == null) {
+                name = FavoritesSorter.collationKey(FavoritesSorter.displayName(this));
+                nameSortKey = name;
+            }
+            return name;
+        }
+    }
+
     public String getKey() {
-        return Resources.keyFor(absolutePath);
+        String cached = key;
+        if (cached == null) {
+            cached = Resources.keyFor(absolutePath);
+            key = cached;
+        }
+        return cached;
     }
 
     @Override
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.model;
+
+import java.util.Objects;
+
+public final class FavoriteGroup {
+
+    private static final String EXTERNAL_LABEL = "External Files";
+
+    private final boolean external;
+    private final String root;
+    private final String folder;
+
+    FavoriteGroup(boolean external, String root, String folder) {
+        this.external = external;
+        this.root = root == null ? "" : root;
+        this.folder = folder == null ? "" : folder;
+    }
+
+    public boolean isExternal() {
+        return external;
+    }
+
+    public boolean isFolder() {
+        return !folder.isEmpty();
+    }
+
+    public String getRoot() {
+        return root;
+    }
+
+    public String getFolder() {
+        return folder;
+    }
+
+    public String getLabel() {
+        if (isFolder()) {
+            return folder;
+        }
+        return external ? EXTERNAL_LABEL : root;
+    }
+
+    public FavoriteGroup getParent() {
+        return isFolder() ? new FavoriteGroup(external, root, "") : null;
+    }
+
+    String getRootKey() {
+        return (external ? "1:" : "0:") + root;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof FavoriteGroup)) {
+            return false;
+        }
+        FavoriteGroup other = (FavoriteGroup) obj;
+        return external == other.external && root.equals(other.root) && folder.equals(other.folder);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(external, root, folder);
+    }
+
+    @Override
+    public String toString() {
+        return (external ? "external:" : "workspace:") + root + "/" + folder;
+    }
+}
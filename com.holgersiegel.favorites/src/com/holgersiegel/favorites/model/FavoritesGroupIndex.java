@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Sorted project/folder index used by the grouped presentation. Entries are
+ * filed under the folder derived from their workspace or absolute path when
+ * they are added or moved, so expanding a group only reads its own bucket.
+ */
+final class FavoritesGroupIndex {
+
+    private static final Comparator<FavoriteEntry> BY_LABEL = Comparator.comparing(FavoriteEntry::getLabel,
+            Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+
+    private final TreeMap<String, RootNode> roots = new TreeMap<>();
+    private final Map<FavoriteEntry, FavoriteGroup> locations = new IdentityHashMap<>();
+
+    void clear() {
+        roots.clear();
+        locations.clear();
+    }
+
+    void add(FavoriteEntry entry) {
+        if (entry == null) {
+            return;
+        }
+        FavoriteGroup location = locate(entry);
+        FavoriteGroup previous = locations.get(entry);
+        if (location.equals(previous)) {
+            return;
+        }
+        remove(entry);
+        RootNode node = roots.computeIfAbsent(location.getRootKey(), key -> new RootNode(location.getParent() == null ? location : location.getParent()));
+        node.folders.computeIfAbsent(location.getFolder(), key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(entry);
+        locations.put(entry, location);
+    }
+
+    void update(FavoriteEntry entry) {
+        add(entry);
+    }
+
+    void remove(FavoriteEntry entry) {
+        FavoriteGroup location = entry == null ? null : locations.remove(entry);
+        if (location == null) {
+            return;
+        }
+        RootNode node = roots.get(location.getRootKey());
+        if (node == null) {
+            return;
+        }
+        Set<FavoriteEntry> bucket = node.folders.get(location.getFolder());
+        if (bucket != null) {
+            bucket.remove(entry);
+            if (bucket.isEmpty()) {
+                node.folders.remove(location.getFolder());
+            }
+        }
+        if (node.folders.isEmpty()) {
+            roots.remove(location.getRootKey());
+        }
+    }
+
+    List<FavoriteGroup> getRoots() {
+        List<FavoriteGroup> result = new ArrayList<>(roots.size());
+        for (RootNode node : roots.values()) {
+            result.add(node.group);
+        }
+        return result;
+    }
+
+    List<Object> getChildren(FavoriteGroup group) {
+        if (group == null) {
+            return Collections.emptyList();
+        }
+        RootNode node = roots.get(group.getRootKey());
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        List<Object> result = new ArrayList<>();
+        if (!group.isFolder()) {
+            for (String folder : node.folders.keySet()) {
+                if (!folder.isEmpty()) {
+                    result.add(new FavoriteGroup(group.isExternal(), group.getRoot(), folder));
+                }
+            }
+        }
+        Set<FavoriteEntry> bucket = node.folders.get(group.getFolder());
+        if (bucket != null) {
+            List<FavoriteEntry> sorted = new ArrayList<>(bucket);
+            sorted.sort(BY_LABEL);
+            result.addAll(sorted);
+        }
+        return result;
+    }
+
+    FavoriteGroup getGroup(FavoriteEntry entry) {
+        return entry == null ? null : locations.get(entry);
+    }
+
+    static FavoriteGroup locate(FavoriteEntry entry) {
+        String workspacePath = entry.getWorkspacePath();
+        if (entry.isWorkspaceResource() && workspacePath != null && !workspacePath.isBlank()) {
+            String relative = workspacePath.startsWith("/") ? workspacePath.substring(1) : workspacePath;
+            int projectEnd = relative.indexOf('/');
+            if (projectEnd < 0) {
+                return new FavoriteGroup(false, relative, "");
+            }
+            String project = relative.substring(0, projectEnd);
+            String rest = relative.substring(projectEnd + 1);
+            int folderEnd = rest.lastIndexOf('/');
+            return new FavoriteGroup(false, project, folderEnd < 0 ? "" : rest.substring(0, folderEnd));
+        }
+        String absolutePath = entry.getAbsolutePath();
+        if (absolutePath == null) {
+            return new FavoriteGroup(true, "", "");
+        }
+        int folderEnd = Math.max(absolutePath.lastIndexOf('/'), absolutePath.lastIndexOf('\\'));
+        if (folderEnd < 0) {
+            return new FavoriteGroup(true, "", "");
+        }
+        return new FavoriteGroup(true, "", folderEnd == 0 ? absolutePath.substring(0, 1) : absolutePath.substring(0, folderEnd));
+    }
+
+    private static final class RootNode {
+
+        private final FavoriteGroup group;
+        private final TreeMap<String, Set<FavoriteEntry>> folders = new TreeMap<>();
+
+        RootNode(FavoriteGroup group) {
+            this.group = group;
+        }
+    }
+}
@@ -0,0 +1,444 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram index over label, path and comment of the stored favorites. Postings
+ * are append-only, so updates retire the old document and index a new one;
+ * retired documents are dropped once they outnumber the live ones.
+ * <p>
+ * Each document also carries the lower-cased label and path together with their
+ * word boundaries (camel case, path separators, punctuation) and a character
+ * mask, so fuzzy ranking neither allocates nor re-derives anything per entry.
+ */
+final class FavoritesSearchIndex {
+
+    private static final int MIN_COMPACTION_SIZE = 1024;
+    private static final int BOUNDARY_BONUS = 8;
+    private static final int CONSECUTIVE_BONUS = 4;
+    private static final int LABEL_WEIGHT = 2;
+
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<FavoriteEntry, Document> documentsByEntry = new IdentityHashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private int deadDocuments;
+    private int modCount;
+    private String lastQuery;
+    private List<Document> lastMatches = Collections.emptyList();
+    private int lastModCount = -1;
+    private String lastFuzzyQuery;
+    private int[] lastFuzzyMatches = new int[0];
+    private int lastFuzzyMatchCount;
+    private int lastFuzzyModCount = -1;
+
+    void clear() {
+        documents.clear();
+        documentsByEntry.clear();
+        postings.clear();
+        deadDocuments = 0;
+        modCount++;
+        resetLastQuery();
+    }
+
+    void add(FavoriteEntry entry) {
+        if (entry == null) {
+            return;
+        }
+        retire(documentsByEntry.remove(entry));
+        index(entry);
+        modCount++;
+        compactIfNeeded();
+    }
+
+    void update(FavoriteEntry entry) {
+        add(entry);
+    }
+
+    void remove(FavoriteEntry entry) {
+        if (entry == null) {
+            return;
+        }
+        Document document = documentsByEntry.remove(entry);
+        if (document != null) {
+            retire(document);
+            modCount++;
+            compactIfNeeded();
+        }
+    }
+
+    Set<FavoriteEntry> search(String query) {
+        String needle = normalize(query);
+        List<Document> candidates;
+        if (lastQuery != null && lastModCount == modCount && needle.contains(lastQuery)) {
+            candidates = lastMatches;
+        } else if (needle.length() < 3) {
+            candidates = documents;
+        } else {
+            candidates = lookupTrigrams(needle);
+        }
+        List<Document> matches = new ArrayList<>();
+        for (Document document : candidates) {
+            if (document.alive && document.text.contains(needle)) {
+                matches.add(document);
+            }
+        }
+        lastQuery = needle;
+        lastMatches = matches;
+        lastModCount = modCount;
+        Set<FavoriteEntry> result = Collections.newSetFromMap(new IdentityHashMap<>(matches.size() * 2));
+        for (Document document : matches) {
+            result.add(document.entry);
+        }
+        return result;
+    }
+
+    List<FavoriteEntry> findBest(String query, int limit) {
+        String normalized = normalize(query).replace(" ", "");
+        if (normalized.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        char[] needle = lowerCaseChars(normalized);
+        long needleMask = maskOf(needle);
+        int[] candidates;
+        int candidateCount;
+        if (lastFuzzyQuery != null && lastFuzzyModCount == modCount && normalized.contains(lastFuzzyQuery)) {
+            candidates = lastFuzzyMatches;
+            candidateCount = lastFuzzyMatchCount;
+        } else {
+            candidates = null;
+            candidateCount = documents.size();
+        }
+        int[] matches = new int[Math.max(16, candidateCount)];
+        int matchCount = 0;
+        int[] bestIds = new int[limit];
+        int[] bestRanks = new int[limit];
+        int bestCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            Document document = documents.get(candidates == null ? i : candidates[i]);
+            if (!document.alive || (needleMask & ~document.mask) != 0) {
+                continue;
+            }
+            int rank = rank(needle, needleMask, document);
+            if (rank == Integer.MIN_VALUE) {
+                continue;
+            }
+            matches[matchCount++] = document.id;
+            if (bestCount < limit) {
+                bestCount++;
+            } else if (rank <= bestRanks[limit - 1]) {
+                continue;
+            }
+            int slot = bestCount - 1;
+            while (slot > 0 && bestRanks[slot - 1] < rank) {
+                bestRanks[slot] = bestRanks[slot - 1];
+                bestIds[slot] = bestIds[slot - 1];
+                slot--;
+            }
+            bestRanks[slot] = rank;
+            bestIds[slot] = document.id;
+        }
+        lastFuzzyQuery = normalized;
+        lastFuzzyMatches = matches;
+        lastFuzzyMatchCount = matchCount;
+        lastFuzzyModCount = modCount;
+        List<FavoriteEntry> result = new ArrayList<>(bestCount);
+        for (int i = 0; i < bestCount; i++) {
+            result.add(documents.get(bestIds[i]).entry);
+        }
+        return result;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void index(FavoriteEntry entry) {
+        Document document = new Document(documents.size(), entry, textOf(entry), nameOf(entry), entry.getAbsolutePath());
+        documents.add(document);
+        documentsByEntry.put(entry, document);
+        String text = document.text;
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            postings.computeIfAbsent(trigram(text, i), key -> new Postings()).add(document.id);
+        }
+    }
+
+    private void retire(Document document) {
+        if (document != null && document.alive) {
+            document.alive = false;
+            deadDocuments++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (deadDocuments < MIN_COMPACTION_SIZE || deadDocuments < documents.size() - deadDocuments) {
+            return;
+        }
+        List<FavoriteEntry> live = new ArrayList<>(documentsByEntry.size());
+        for (Document document : documents) {
+            if (document.alive) {
+                live.add(document.entry);
+            }
+        }
+        documents.clear();
+        documentsByEntry.clear();
+        postings.clear();
+        deadDocuments = 0;
+        for (FavoriteEntry entry : live) {
+            index(entry);
+        }
+        resetLastQuery();
+    }
+
+    private List<Document> lookupTrigrams(String needle) {
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= needle.length(); i++) {
+            Postings list = postings.get(trigram(needle, i));
+            if (list == null) {
+                return Collections.emptyList();
+            }
+            if (!lists.contains(list)) {
+                lists.add(list);
+            }
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        int[] ids = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        int count = ids.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = intersect(ids, count, lists.get(i));
+        }
+        List<Document> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(documents.get(ids[i]));
+        }
+        return result;
+    }
+
+    private static int intersect(int[] ids, int count, Postings other) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < other.size; i++) {
+            int id = ids[i];
+            while (j < other.size && other.ids[j] < id) {
+                j++;
+            }
+            if (j < other.size && other.ids[j] == id) {
+                ids[kept++] = id;
+            }
+        }
+        return kept;
+    }
+
+    private void resetLastQuery() {
+        lastQuery = null;
+        lastMatches = Collections.emptyList();
+        lastModCount = -1;
+        lastFuzzyQuery = null;
+        lastFuzzyMatches = new int[0];
+        lastFuzzyMatchCount = 0;
+        lastFuzzyModCount = -1;
+    }
+
+    private static int rank(char[] needle, long needleMask, Document document) {
+        int nameScore = (needleMask & ~document.nameMask) == 0 ? score(needle, document.name, document.nameBoundaries) : -1;
+        if (nameScore >= 0) {
+            return nameScore * LABEL_WEIGHT * 100 - Math.min(document.name.length, 99);
+        }
+        int pathScore = score(needle, document.path, document.pathBoundaries);
+        if (pathScore >= 0) {
+            return pathScore * 100 - Math.min(document.path.length, 99);
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    private static int score(char[] needle, char[] text, boolean[] boundaries) {
+        return Math.max(score(needle, text, boundaries, true), score(needle, text, boundaries, false));
+    }
+
+    private static int score(char[] needle, char[] text, boolean[] boundaries, boolean preferBoundaries) {
+        int score = 0;
+        int position = 0;
+        int previous = -2;
+        for (char c : needle) {
+            int found = -1;
+            if (preferBoundaries) {
+                for (int i = position; i < text.length; i++) {
+                    if (boundaries[i] && text[i] == c) {
+                        found = i;
+                        break;
+                    }
+                }
+            }
+            if (found < 0) {
+                for (int i = position; i < text.length; i++) {
+                    if (text[i] == c) {
+                        found = i;
+                        break;
+                    }
+                }
+            }
+            if (found < 0) {
+                return -1;
+            }
+            score++;
+            if (boundaries[found]) {
+                score += BOUNDARY_BONUS;
+            }
+            if (found == previous + 1) {
+                score += CONSECUTIVE_BONUS;
+            }
+            previous = found;
+            position = found + 1;
+        }
+        return score;
+    }
+
+    private static String nameOf(FavoriteEntry entry) {
+        String label = entry.getLabel();
+        if (label != null && !label.isBlank()) {
+            return label;
+        }
+        String path = entry.getAbsolutePath();
+        if (path == null) {
+            return "";
+        }
+        int separator = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        return path.substring(separator + 1);
+    }
+
+    private static boolean[] boundariesOf(String text) {
+        boolean[] boundaries = new boolean[text.length()];
+        for (int i = 0; i < boundaries.length; i++) {
+            char c = text.charAt(i);
+            if (i == 0) {
+                boundaries[i] = true;
+                continue;
+            }
+            char previous = text.charAt(i - 1);
+            boundaries[i] = isSeparator(previous)
+                    || (Character.isUpperCase(c) && !Character.isUpperCase(previous))
+                    || (Character.isDigit(c) && !Character.isDigit(previous))
+                    || (Character.isLetter(c) && Character.isDigit(previous));
+        }
+        return boundaries;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '/' || c == '\\' || c == '.' || c == '_' || c == '-' || c == ' ' || c == '$';
+    }
+
+    private static char[] lowerCaseChars(String text) {
+        char[] chars = new char[text.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(text.charAt(i));
+        }
+        return chars;
+    }
+
+    private static long maskOf(char[] text) {
+        long mask = 0L;
+        for (char c : text) {
+            if (c >= 'a' && c <= 'z') {
+                mask |= 1L << (c - 'a');
+            } else if (c >= '0' && c <= '9') {
+                mask |= 1L << (26 + c - '0');
+            }
+        }
+        return mask;
+    }
+
+    private static String textOf(FavoriteEntry entry) {
+        StringBuilder text = new StringBuilder();
+        appendField(text, entry.getLabel());
+        appendField(text, entry.getAbsolutePath());
+        appendField(text, entry.getComment());
+        return normalize(text.toString());
+    }
+
+    private static void appendField(StringBuilder text, String value) {
+        if (value != null && !value.isEmpty()) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(value);
+        }
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    private static final class Document {
+
+        private final int id;
+        private final FavoriteEntry entry;
+        private final String text;
+        private final char[] name;
+        private final boolean[] nameBoundaries;
+        private final char[] path;
+        private final boolean[] pathBoundaries;
+        private final long nameMask;
+        private final long mask;
+        private boolean alive = true;
+
+        Document(int id, FavoriteEntry entry, String text, String name, String path) {
+            this.id = id;
+            this.entry = entry;
+            this.text = text;
+            String safeName = name == null ? "" : name;
+            String safePath = path == null ? "" : path;
+            this.name = lowerCaseChars(safeName);
+            this.nameBoundaries = boundariesOf(safeName);
+            this.path = lowerCaseChars(safePath);
+            this.pathBoundaries = boundariesOf(safePath);
+            this.nameMask = maskOf(this.name);
+            this.mask = nameMask | maskOf(this.path);
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.model;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public final class FavoritesSorter {
+
+    public enum Column {
+        NAME,
+        PATH,
+        COMMENT,
+        STATUS
+    }
+
+    private static final Collator COLLATOR = createCollator();
+
+    private FavoritesSorter() {
+    }
+
+    /**
+     * Sorts keys that were all taken for the same column.
+     */
+    public static List<FavoriteEntry> sort(List<SortKey> keys, boolean ascending) {
+        List<SortKey> sorted = new ArrayList<>(keys);
+        sorted.sort(ascending ? Comparator.naturalOrder() : Comparator.reverseOrder());
+        List<FavoriteEntry> entries = new ArrayList<>(sorted.size());
+        for (SortKey key : sorted) {
+            entries.add(key.entry);
+        }
+        return entries;
+    }
+
+    public static SortKey sortKey(FavoriteEntry entry, Column column) {
+        switch (column) {
+        case PATH:
+        case COMMENT:
+            return new SortKey(entry, null, entry.getSortKey(column));
+        case STATUS:
+            return new SortKey(entry, entry.getStatus(), entry.getSortKey(Column.NAME));
+        default:
+            return new SortKey(entry, null, entry.getSortKey(Column.NAME));
+        }
+    }
+
+    public static String displayName(FavoriteEntry entry) {
+        String label = entry.getLabel();
+        if (label != null && !label.isBlank()) {
+            return label;
+        }
+        String path = entry.getAbsolutePath();
+        if (path == null) {
+            return "";
+        }
+        int separator = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        return separator < 0 || separator == path.length() - 1 ? path : path.substring(separator + 1);
+    }
+
+    static CollationKey collationKey(String text) {
+        synchronized (COLLATOR) {
+            return COLLATOR.getCollationKey(text == null ? "" : text);
+        }
+    }
+
+    private static Collator createCollator() {
+        Collator collator = Collator.getInstance();
+        collator.setStrength(Collator.SECONDARY);
+        return collator;
+    }
+
+    /**
+     * The values an entry sorts by, taken at one point in time. Sorting on these stays consistent while the entry's
+     * status or comment changes concurrently.
+     */
+    public static final class SortKey implements Comparable<SortKey> {
+
+        private final FavoriteEntry entry;
+        private final FavoriteEntry.Status status;
+        private final CollationKey key;
+
+        private SortKey(FavoriteEntry entry, FavoriteEntry.Status status, CollationKey key) {
+            this.entry = entry;
+            this.status = status;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(SortKey other) {
+            if (status != null && other.status != null) {
+                int result = status.compareTo(other.status);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return key.compareTo(other.key);
+        }
+    }
+}
@@ -24,12 +24,15 @@
 package com.holgersiegel.favorites.model;
 
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -38,43 +41,115 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
-import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
-import org.eclipse.core.runtime.preferences.InstanceScope;
-import org.eclipse.jface.viewers.ViewerDropAdapter;
 import org.osgi.service.prefs.BackingStoreException;
 
-import com.holgersiegel.favorites.util.FavoritesPlugin;
+import com.holgersiegel.favorites.diagnostics.Operation;
+import com.holgersiegel.favorites.diagnostics.Probe;
+import com.holgersiegel.favorites.diagnostics.Span;
 import com.holgersiegel.favorites.util.Resources;
 
 public class FavoritesStore {
 
-    private static final String PREF_KEY_ENTRIES = "entries";
+    static final String PREF_KEY_ENTRIES = "entries";
+    private static final int VERIFY_BATCH_SIZE = 2000;
 
     private final List<FavoriteEntry> entries = new ArrayList<>();
     private final Map<String, FavoriteEntry> entriesByKey = new LinkedHashMap<>();
+    private final FavoritesSearchIndex searchIndex = new FavoritesSearchIndex();
+    private final FavoritesGroupIndex groupIndex = new FavoritesGroupIndex();
     private final CopyOnWriteArrayList<FavoritesStoreListener> listeners = new CopyOnWriteArrayList<>();
     private final IEclipsePreferences preferences;
+    private final IWorkspace workspace;
     private final IResourceChangeListener resourceListener = this::resourceChanged;
+    private final Set<String> sharedDirtyKeys = new HashSet<>();
+    private volatile int entryCount;
+    private volatile int missingCount;
+    private volatile int externalCount;
+    private volatile int commentCount;
+    private volatile boolean loaded;
+    private SharedFavoritesStore shared;
+    private boolean sharedOrderDirty;
+    private boolean applyingShared;
 
-    public FavoritesStore() {
-        preferences = InstanceScope.INSTANCE.getNode(FavoritesPlugin.PLUGIN_ID);
-        ResourcesPlugin.getWorkspace().addResourceChangeListener(resourceListener, IResourceChangeEvent.POST_CHANGE);
+    public FavoritesStore(IEclipsePreferences preferences, IWorkspace workspace) {
+        this.preferences = preferences;
+        this.workspace = workspace;
+        workspace.addResourceChangeListener(resourceListener, IResourceChangeEvent.POST_CHANGE);
     }
 
     public synchronized List<FavoriteEntry> getEntries() {
+        ensureLoaded();
         return Collections.unmodifiableList(new ArrayList<>(entries));
     }
 
+    public synchronized List<FavoriteEntry> search(String query) {
+        ensureLoaded();
+        if (FavoritesSearchIndex.normalize(query).isEmpty()) {
+            return getEntries();
+        }
+        Set<FavoriteEntry> matches = searchIndex.search(query);
+        List<FavoriteEntry> result = new ArrayList<>(matches.size());
+        if (!matches.isEmpty()) {
+            for (FavoriteEntry entry : entries) {
+                if (matches.contains(entry)) {
+                    result.add(entry);
+                }
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Returns the sort keys of the entries matching {@code query}, taken together with the snapshot so that a sort
+     * outside the store's monitor does not see later status or comment changes.
+     */
+    public synchronized List<FavoritesSorter.SortKey> getSortKeys(String query, FavoritesSorter.Column column) {
+        List<FavoriteEntry> matches = search(query);
+        List<FavoritesSorter.SortKey> keys = new ArrayList<>(matches.size());
+        for (FavoriteEntry entry : matches) {
+            keys.add(FavoritesSorter.sortKey(entry, column));
+        }
+        return keys;
+    }
+
+    public synchronized List<FavoriteGroup> getRootGroups() {
+        ensureLoaded();
+        return Collections.unmodifiableList(groupIndex.getRoots());
+    }
+
+    public synchronized List<Object> getGroupChildren(FavoriteGroup group) {
+        ensureLoaded();
+        return Collections.unmodifiableList(groupIndex.getChildren(group));
+    }
+
+    public synchronized FavoriteGroup getGroup(FavoriteEntry entry) {
+        ensureLoaded();
+        return groupIndex.getGroup(entry == null ? null : entriesByKey.get(entry.getKey()));
+    }
+
+    public synchronized List<FavoriteEntry> findBest(String query, int limit) {
+        ensureLoaded();
+        if (FavoritesSearchIndex.normalize(query).isEmpty()) {
+            return Collections.unmodifiableList(new ArrayList<>(entries.subList(0, Math.min(Math.max(limit, 0), entries.size()))));
+        }
+        return Collections.unmodifiableList(searchIndex.findBest(query, limit));
+    }
+
     public void addListener(FavoritesStoreListener listener) {
         if (listener != null) {
             listeners.addIfAbsent(listener);
@@ -90,6 +165,7 @@ public class FavoritesStore {
     public synchronized void load() {
         entries.clear();
         entriesByKey.clear();
+        clearIndexes();
         String json = preferences.get(PREF_KEY_ENTRIES, "");
         if (json != null && !json.isBlank()) {
             try {
@@ -101,15 +177,116 @@ public class FavoritesStore {
                 log("Failed to parse favorites preference", ex);
             }
         }
-        refreshStatuses();
+        loaded = true;
         notifyListeners();
     }
 
+    public synchronized void ensureLoaded() {
+        if (!loaded) {
+            load();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void verifyStatuses(Collection<FavoriteEntry> priority, IProgressMonitor monitor) {
+        List<FavoriteEntry> order;
+        int batchSize;
+        synchronized (this) {
+            ensureLoaded();
+            Set<FavoriteEntry> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            order = new ArrayList<>(entries.size());
+            if (priority != null) {
+                for (FavoriteEntry entry : priority) {
+                    FavoriteEntry stored = entry == null ? null : entriesByKey.get(entry.getKey());
+                    if (stored != null && seen.add(stored)) {
+                        order.add(stored);
+                    }
+                }
+            }
+            batchSize = order.isEmpty() ? VERIFY_BATCH_SIZE : order.size();
+            for (FavoriteEntry entry : entries) {
+                if (seen.add(entry)) {
+                    order.add(entry);
+                }
+            }
+        }
+        boolean changed = false;
+        int start = 0;
+        while (start < order.size()) {
+            if (monitor != null && monitor.isCanceled()) {
+                break;
+            }
+            int end = Math.min(start + batchSize, order.size());
+            List<FavoriteEntry> batch = order.subList(start, end);
+            try (Span span = Probe.start(Operation.VERIFY_BATCH)) {
+                span.items(batch.size());
+                boolean[] exists = new boolean[batch.size()];
+                boolean[] directories = new boolean[batch.size()];
+                IWorkspaceRoot root = workspace.getRoot();
+                for (int i = 0; i < batch.size(); i++) {
+                    probe(root, batch.get(i), exists, directories, i);
+                }
+                boolean batchChanged;
+                synchronized (this) {
+                    batchChanged = applyVerified(batch, exists, directories);
+                }
+                if (batchChanged) {
+                    changed = true;
+                    notifyListeners();
+                }
+            }
+            start = end;
+            batchSize = VERIFY_BATCH_SIZE;
+        }
+        if (changed) {
+            synchronized (this) {
+                saveNow();
+            }
+        }
+    }
+
+    private static void probe(IWorkspaceRoot root, FavoriteEntry entry, boolean[] exists, boolean[] directories, int index) {
+        if (entry.isWorkspaceResource()) {
+            IResource resource = Resources.resolveWorkspaceResource(root, entry);
+            exists[index] = resource != null && resource.exists();
+            directories[index] = resource != null && resource.getType() != IResource.FILE;
+            return;
+        }
+        BasicFileAttributes attributes = Resources.toPath(entry).map(Resources::readAttributes).orElse(null);
+        exists[index] = attributes != null;
+        directories[index] = attributes != null ? attributes.isDirectory() : entry.isDirectory();
+    }
+
+    private boolean applyVerified(List<FavoriteEntry> batch, boolean[] exists, boolean[] directories) {
+        boolean changed = false;
+        for (int i = 0; i < batch.size(); i++) {
+            FavoriteEntry entry = batch.get(i);
+            if (entriesByKey.get(entry.getKey()) != entry) {
+                continue;
+            }
+            FavoriteEntry.Status status = exists[i] ? FavoriteEntry.Status.OK : FavoriteEntry.Status.MISSING;
+            if (entry.getStatus() != status) {
+                applyStatus(entry, status);
+                changed = true;
+            }
+            if (entry.isDirectory() != directories[i]) {
+                entry.setDirectory(directories[i]);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
     public synchronized boolean addResource(IResource resource) {
+        ensureLoaded();
         return addResourceInternal(resource).changed;
     }
 
     public synchronized FavoriteEntry addOrGetResource(IResource resource) {
+        ensureLoaded();
         return addResourceInternal(resource).entry;
     }
 
@@ -117,20 +294,25 @@ public class FavoritesStore {
         if (resource == null) {
             return AddOutcome.unchanged(null);
         }
-        FavoriteEntry entry = new FavoriteEntry(Resources.toAbsolutePath(resource), true, resource.getFullPath().toString(), resource.getName(), FavoriteEntry.Status.OK);
-        AddOutcome outcome = internalAdd(entry, true);
-        if (outcome.changed) {
-            refreshStatuses();
-            notifyListeners();
+        try (Span span = Probe.start(Operation.STORE_MUTATION)) {
+            span.items(1);
+            FavoriteEntry entry = newResourceEntry(resource);
+            entry.setStatus(resource.exists() ? FavoriteEntry.Status.OK : FavoriteEntry.Status.MISSING);
+            AddOutcome outcome = internalAdd(entry, true);
+            if (outcome.changed) {
+                notifyListeners();
+            }
+            return outcome;
         }
-        return outcome;
     }
 
     public synchronized boolean addExternal(Path path) {
+        ensureLoaded();
         return addExternalInternal(path).changed;
     }
 
     public synchronized FavoriteEntry addOrGetExternal(Path path) {
+        ensureLoaded();
         return addExternalInternal(path).entry;
     }
 
@@ -138,38 +320,85 @@ public class FavoritesStore {
         if (path == null) {
             return AddOutcome.unchanged(null);
         }
-        Path absolute = path.toAbsolutePath().normalize();
-        String name = absolute.getFileName() == null ? absolute.toString() : absolute.getFileName().toString();
-        FavoriteEntry entry = new FavoriteEntry(absolute.toString(), false, null, name, FavoriteEntry.Status.OK);
-        AddOutcome outcome = internalAdd(entry, true);
-        if (outcome.changed) {
-            refreshStatuses();
-            notifyListeners();
+        try (Span span = Probe.start(Operation.STORE_MUTATION)) {
+            span.items(1);
+            FavoriteEntry entry = newExternalEntry(path);
+            BasicFileAttributes attributes = Resources.readAttributes(Path.of(entry.getAbsolutePath()));
+            entry.setStatus(attributes != null ? FavoriteEntry.Status.OK : FavoriteEntry.Status.MISSING);
+            entry.setDirectory(attributes != null && attributes.isDirectory());
+            AddOutcome outcome = internalAdd(entry, true);
+            if (outcome.changed) {
+                notifyListeners();
+            }
+            return outcome;
         }
-        return outcome;
     }
 
     public synchronized boolean addEntries(Collection<FavoriteEntry> toAdd) {
+        ensureLoaded();
         if (toAdd == null || toAdd.isEmpty()) {
             return false;
         }
-        boolean changed = false;
-        for (FavoriteEntry entry : toAdd) {
-            if (entry == null) {
-                continue;
+        try (Span span = Probe.start(Operation.STORE_MUTATION)) {
+            span.items(toAdd.size());
+            List<FavoriteEntry> added = new ArrayList<>();
+            for (FavoriteEntry entry : toAdd) {
+                if (entry == null) {
+                    continue;
+                }
+                AddOutcome outcome = internalAdd(entry, false);
+                if (outcome.changed) {
+                    added.add(outcome.entry);
+                }
             }
-            if (internalAdd(entry, true).changed) {
-                changed = true;
+            if (!added.isEmpty()) {
+                if (!refreshStatuses(added)) {
+                    saveNow();
+                }
+                notifyListeners();
             }
+            return !added.isEmpty();
         }
-        if (changed) {
-            refreshStatuses();
-            notifyListeners();
+    }
+
+    public synchronized List<FavoriteEntry> addOrGetEntries(Collection<FavoriteEntry> toAdd) {
+        ensureLoaded();
+        if (toAdd == null || toAdd.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try (Span span = Probe.start(Operation.STORE_MUTATION)) {
+            span.items(toAdd.size());
+            List<FavoriteEntry> result = new ArrayList<>(toAdd.size());
+            boolean changed = false;
+            for (FavoriteEntry entry : toAdd) {
+                AddOutcome outcome = internalAdd(entry, false);
+                if (outcome.entry != null) {
+                    result.add(outcome.entry);
+                }
+                changed |= outcome.changed;
+            }
+            if (changed) {
+                saveNow();
+                notifyListeners();
+            }
+            return Collections.unmodifiableList(result);
         }
-        return changed;
+    }
+
+    public static FavoriteEntry newResourceEntry(IResource resource) {
+        FavoriteEntry entry = new FavoriteEntry(Resources.toAbsolutePath(resource), true, resource.getFullPath().toString(), resource.getName(), FavoriteEntry.Status.OK);
+        entry.setDirectory(resource.getType() != IResource.FILE);
+        return entry;
+    }
+
+    public static FavoriteEntry newExternalEntry(Path path) {
+        Path absolute = path.toAbsolutePath().normalize();
+        String name = absolute.getFileName() == null ? absolute.toString() : absolute.getFileName().toString();
+        return new FavoriteEntry(absolute.toString(), false, null, name, FavoriteEntry.Status.OK);
     }
 
     public synchronized void updateComment(FavoriteEntry entry, String comment) {
+        ensureLoaded();
         if (entry == null) {
             return;
         }
@@ -182,59 +411,92 @@ public class FavoritesStore {
         if (Objects.equals(current, normalized)) {
             return;
         }
-        stored.setComment(comment);
-        saveNow();
-        notifyListeners();
+        try (Span span = Probe.start(Operation.STORE_MUTATION)) {
+            span.items(1);
+            applyComment(stored, comment);
+            entryUpdated(stored);
+            saveNow();
+            notifyListeners();
+        }
     }
 
     public synchronized void remove(Collection<FavoriteEntry> toRemove) {
+        ensureLoaded();
         if (toRemove == null || toRemove.isEmpty()) {
             return;
         }
-        boolean changed = false;
+        Set<String> keys = new HashSet<>();
         for (FavoriteEntry entry : toRemove) {
-            if (entry == null) {
-                continue;
-            }
-            FavoriteEntry removed = entriesByKey.remove(entry.getKey());
-            if (removed != null) {
-                entries.remove(removed);
-                changed = true;
+            if (entry != null && entriesByKey.containsKey(entry.getKey())) {
+                keys.add(entry.getKey());
             }
         }
-        if (changed) {
-            saveNow();
-            notifyListeners();
+        if (keys.isEmpty()) {
+            return;
+        }
+        try (Span span = Probe.start(Operation.STORE_MUTATION)) {
+            span.items(keys.size());
+            if (removeIf(entry -> keys.contains(entry.getKey())) > 0) {
+                saveNow();
+                notifyListeners();
+            }
         }
     }
 
     public synchronized int removeMissing() {
-        int removed = 0;
-        for (int i = entries.size() - 1; i >= 0; i--) {
-            FavoriteEntry entry = entries.get(i);
-            if (entry != null && entry.isMissing()) {
-                entries.remove(i);
-                entriesByKey.remove(entry.getKey());
-                removed++;
-            }
+        ensureLoaded();
+        if (missingCount == 0) {
+            return 0;
         }
-        if (removed > 0) {
-            saveNow();
-            notifyListeners();
+        try (Span span = Probe.start(Operation.STORE_MUTATION)) {
+            int removed = removeIf(FavoriteEntry::isMissing);
+            span.items(removed);
+            if (removed > 0) {
+                saveNow();
+                notifyListeners();
+            }
+            return removed;
         }
-        return removed;
     }
 
-    public synchronized boolean hasMissingEntries() {
-        for (FavoriteEntry entry : entries) {
-            if (entry != null && entry.isMissing()) {
-                return true;
+    private int removeIf(Predicate<FavoriteEntry> victim) {
+        int size = entries.size();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            FavoriteEntry entry = entries.get(i);
+            if (entry != null && victim.test(entry)) {
+                entriesByKey.remove(entry.getKey());
+                entryRemoved(entry);
+            } else {
+                entries.set(kept++, entry);
             }
         }
-        return false;
+        entries.subList(kept, size).clear();
+        return size - kept;
+    }
+
+    public boolean hasMissingEntries() {
+        return missingCount > 0;
     }
 
-    public synchronized void move(List<FavoriteEntry> movingEntries, FavoriteEntry target, int location) {
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public int getMissingCount() {
+        return missingCount;
+    }
+
+    public int getExternalCount() {
+        return externalCount;
+    }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public synchronized void move(List<FavoriteEntry> movingEntries, FavoriteEntry target, boolean after) {
+        ensureLoaded();
         if (movingEntries == null || movingEntries.isEmpty()) {
             return;
         }
@@ -251,15 +513,19 @@ public class FavoritesStore {
         if (orderedMoving.isEmpty()) {
             return;
         }
-        FavoriteEntry storedTarget = target == null ? null : entriesByKey.get(target.getKey());
-        entries.removeAll(orderedMoving);
-        int insertIndex = computeInsertIndex(storedTarget, location);
-        entries.addAll(insertIndex, orderedMoving);
-        saveNow();
-        notifyListeners();
+        try (Span span = Probe.start(Operation.STORE_MUTATION)) {
+            span.items(orderedMoving.size());
+            FavoriteEntry storedTarget = target == null ? null : entriesByKey.get(target.getKey());
+            entries.removeAll(orderedMoving);
+            int insertIndex = computeInsertIndex(storedTarget, after);
+            entries.addAll(insertIndex, orderedMoving);
+            sharedOrderDirty = shared != null;
+            saveNow();
+            notifyListeners();
+        }
     }
 
-    private int computeInsertIndex(FavoriteEntry target, int location) {
+    private int computeInsertIndex(FavoriteEntry target, boolean after) {
         if (target == null) {
             return entries.size();
         }
@@ -267,24 +533,185 @@ public class FavoritesStore {
         if (index < 0) {
             return entries.size();
         }
-        if (location == ViewerDropAdapter.LOCATION_AFTER || location == ViewerDropAdapter.LOCATION_ON) {
+        if (after) {
             return Math.min(index + 1, entries.size());
         }
         return index;
     }
 
     public synchronized void saveNow() {
-        String json = JsonSupport.write(entries);
-        preferences.put(PREF_KEY_ENTRIES, json);
-        try {
-            preferences.flush();
-        } catch (BackingStoreException ex) {
-            log("Failed to persist favorites", ex);
+        if (!loaded) {
+            return;
+        }
+        try (Span span = Probe.start(Operation.STORE_SAVE)) {
+            String json = JsonSupport.write(entries);
+            preferences.put(PREF_KEY_ENTRIES, json);
+            try {
+                preferences.flush();
+            } catch (BackingStoreException ex) {
+                log("Failed to persist favorites", ex);
+            }
+            if (span.isRecording()) {
+                span.items(entries.size()).bytes(json.getBytes(StandardCharsets.UTF_8).length);
+            }
+        }
+        if (shared != null) {
+            publishShared();
+        }
+    }
+
+    private void publishShared() {
+        if (sharedDirtyKeys.isEmpty() && !sharedOrderDirty) {
+            return;
+        }
+        List<FavoriteEntry> changed = new ArrayList<>(sharedDirtyKeys.size());
+        Set<String> removedKeys = new HashSet<>();
+        for (String key : sharedDirtyKeys) {
+            FavoriteEntry entry = entriesByKey.get(key);
+            if (entry == null) {
+                removedKeys.add(key);
+                continue;
+            }
+            FavoriteEntry copy = new FavoriteEntry(entry.getAbsolutePath(), entry.isWorkspaceResource(), entry.getWorkspacePath(),
+                    entry.getLabel(), entry.getStatus(), entry.getComment());
+            copy.setDirectory(entry.isDirectory());
+            changed.add(copy);
+        }
+        List<String> order = null;
+        if (sharedOrderDirty) {
+            order = new ArrayList<>(entries.size());
+            for (FavoriteEntry entry : entries) {
+                order.add(entry.getKey());
+            }
+        }
+        sharedDirtyKeys.clear();
+        sharedOrderDirty = false;
+        shared.publishLater(changed, removedKeys, order);
+    }
+
+    synchronized void attachShared(SharedFavoritesStore sharedStore, SharedFavoritesStore.Changes changes) {
+        ensureLoaded();
+        shared = sharedStore;
+        boolean changed = changes != null && mergeShared(changes, true);
+        // local entries the shared file does not have yet; entries it has were just overwritten from it
+        Set<String> sharedKeys = new HashSet<>();
+        if (changes != null) {
+            for (FavoriteEntry update : changes.getUpdated()) {
+                sharedKeys.add(update.getKey());
+            }
+        }
+        for (FavoriteEntry entry : entries) {
+            if (!sharedKeys.contains(entry.getKey())) {
+                sharedDirtyKeys.add(entry.getKey());
+            }
+        }
+        sharedOrderDirty = true;
+        saveNow();
+        if (changed) {
+            notifyListeners();
+        }
+    }
+
+    synchronized void detachShared(SharedFavoritesStore sharedStore) {
+        if (shared == sharedStore) {
+            shared = null;
+            sharedDirtyKeys.clear();
+            sharedOrderDirty = false;
+        }
+    }
+
+    synchronized void applyShared(SharedFavoritesStore sharedStore, SharedFavoritesStore.Changes changes) {
+        if (shared != sharedStore || !loaded) {
+            return;
+        }
+        if (mergeShared(changes, false)) {
+            saveNow();
+            notifyListeners();
+        }
+    }
+
+    /**
+     * Applies the shared records that changed since the last sync. Only those entries are touched and re-checked
+     * on disk; on the initial merge tombstones are ignored so that attaching never drops local favorites.
+     */
+    private boolean mergeShared(SharedFavoritesStore.Changes changes, boolean initial) {
+        boolean orderPending = !initial && !changes.isPreviousOrder(entries);
+        Set<String> pendingKeys = shared.getPendingKeys();
+        try (Span span = Probe.start(Operation.SHARED_MERGE)) {
+            span.items(changes.getUpdated().size() + changes.getRemovedKeys().size());
+            applyingShared = true;
+            boolean changed = false;
+            Set<String> removedKeys = changes.getRemovedKeys();
+            if (!initial && !removedKeys.isEmpty()) {
+                changed |= removeIf(entry -> removedKeys.contains(entry.getKey()) && !pendingKeys.contains(entry.getKey())) > 0;
+            }
+            for (FavoriteEntry update : changes.getUpdated()) {
+                if (!pendingKeys.contains(update.getKey())) {
+                    changed |= applySharedEntry(update);
+                }
+            }
+            if (changes.getOrder() != null && !orderPending) {
+                changed |= applyOrder(changes.getOrder());
+            }
+            return changed;
+        } finally {
+            applyingShared = false;
         }
     }
 
+    private boolean applySharedEntry(FavoriteEntry update) {
+        if (update.getAbsolutePath() == null || update.getAbsolutePath().isEmpty()) {
+            return false;
+        }
+        FavoriteEntry.Status status = Resources.exists(workspace.getRoot(), update) ? FavoriteEntry.Status.OK : FavoriteEntry.Status.MISSING;
+        FavoriteEntry existing = entriesByKey.get(update.getKey());
+        if (existing == null) {
+            update.setStatus(status);
+            entries.add(update);
+            entriesByKey.put(update.getKey(), update);
+            entryAdded(update);
+            return true;
+        }
+        boolean changed = !Objects.equals(existing.getLabel(), update.getLabel())
+                || !Objects.equals(existing.getWorkspacePath(), update.getWorkspacePath())
+                || !Objects.equals(existing.getComment(), update.getComment())
+                || existing.isDirectory() != update.isDirectory()
+                || existing.getStatus() != status;
+        existing.setLabel(update.getLabel());
+        existing.setWorkspacePath(update.getWorkspacePath());
+        existing.setDirectory(update.isDirectory());
+        applyComment(existing, update.getComment());
+        applyStatus(existing, status);
+        if (changed) {
+            entryUpdated(existing);
+        }
+        return changed;
+    }
+
+    private boolean applyOrder(List<String> keys) {
+        List<FavoriteEntry> ordered = new ArrayList<>(entries.size());
+        Set<FavoriteEntry> placed = new HashSet<>();
+        for (String key : keys) {
+            FavoriteEntry entry = entriesByKey.get(key);
+            if (entry != null && placed.add(entry)) {
+                ordered.add(entry);
+            }
+        }
+        for (FavoriteEntry entry : entries) {
+            if (placed.add(entry)) {
+                ordered.add(entry);
+            }
+        }
+        if (ordered.equals(entries)) {
+            return false;
+        }
+        entries.clear();
+        entries.addAll(ordered);
+        return true;
+    }
+
     public synchronized void dispose() {
-        ResourcesPlugin.getWorkspace().removeResourceChangeListener(resourceListener);
+        workspace.removeResourceChangeListener(resourceListener);
     }
 
     private AddOutcome internalAdd(FavoriteEntry entry, boolean persist) {
@@ -302,10 +729,18 @@ public class FavoritesStore {
             changed |= !Objects.equals(existing.getAbsolutePath(), entry.getAbsolutePath());
             existing.setAbsolutePath(entry.getAbsolutePath());
             changed |= existing.getStatus() != entry.getStatus();
-            existing.setStatus(entry.getStatus());
+            applyStatus(existing, entry.getStatus());
+            // a new entry only knows it is a directory after looking at the disk; false may just be the default
+            if (entry.isDirectory() && !existing.isDirectory()) {
+                existing.setDirectory(true);
+                changed = true;
+            }
             if (entry.hasComment()) {
                 changed |= !Objects.equals(existing.getComment(), entry.getComment());
-                existing.setComment(entry.getComment());
+                applyComment(existing, entry.getComment());
+            }
+            if (changed) {
+                entryUpdated(existing);
             }
             if (persist && changed) {
                 saveNow();
@@ -314,60 +749,137 @@ public class FavoritesStore {
         }
         entries.add(entry);
         entriesByKey.put(key, entry);
+        entryAdded(entry);
         if (persist) {
             saveNow();
         }
         return AddOutcome.changed(entry);
     }
 
+    private void entryAdded(FavoriteEntry entry) {
+        searchIndex.add(entry);
+        groupIndex.add(entry);
+        count(entry, 1);
+        markShared(entry.getKey());
+    }
+
+    private void entryUpdated(FavoriteEntry entry) {
+        searchIndex.update(entry);
+        groupIndex.update(entry);
+        markShared(entry.getKey());
+    }
+
+    private void entryRemoved(FavoriteEntry entry) {
+        searchIndex.remove(entry);
+        groupIndex.remove(entry);
+        count(entry, -1);
+        markShared(entry.getKey());
+    }
+
+    private void markShared(String key) {
+        if (shared != null && !applyingShared) {
+            sharedDirtyKeys.add(key);
+        }
+    }
+
+    private void clearIndexes() {
+        searchIndex.clear();
+        groupIndex.clear();
+        entryCount = 0;
+        missingCount = 0;
+        externalCount = 0;
+        commentCount = 0;
+    }
+
+    private void count(FavoriteEntry entry, int delta) {
+        entryCount += delta;
+        if (!entry.isWorkspaceResource()) {
+            externalCount += delta;
+        }
+        if (entry.isMissing()) {
+            missingCount += delta;
+        }
+        if (entry.hasComment()) {
+            commentCount += delta;
+        }
+    }
+
+    private void applyStatus(FavoriteEntry entry, FavoriteEntry.Status status) {
+        boolean wasMissing = entry.isMissing();
+        entry.setStatus(status);
+        if (wasMissing != entry.isMissing()) {
+            missingCount += entry.isMissing() ? 1 : -1;
+        }
+    }
+
+    private void applyComment(FavoriteEntry entry, String comment) {
+        boolean hadComment = entry.hasComment();
+        entry.setComment(comment);
+        if (hadComment != entry.hasComment()) {
+            commentCount += entry.hasComment() ? 1 : -1;
+        }
+    }
+
     private void resourceChanged(IResourceChangeEvent event) {
         if (event == null || event.getDelta() == null) {
             return;
         }
-        Map<String, IResource> movedResources = new HashMap<>();
-        Set<String> removedKeys = new HashSet<>();
-        try {
-            event.getDelta().accept(new IResourceDeltaVisitor() {
-                @Override
-                public boolean visit(IResourceDelta delta) throws CoreException {
-                    IResource resource = delta.getResource();
-                    if (resource == null || resource.getType() == IResource.ROOT) {
-                        return true;
-                    }
-                    String absolute = Resources.toAbsolutePath(resource);
-                    if (absolute == null) {
-                        return true;
-                    }
-                    String key = Resources.keyFor(absolute);
-                    if (delta.getKind() == IResourceDelta.REMOVED) {
-                        int flags = delta.getFlags();
-                        if ((flags & IResourceDelta.MOVED_TO) != 0) {
-                            IResource movedTo = ResourcesPlugin.getWorkspace().getRoot().findMember(delta.getMovedToPath());
-                            if (movedTo != null) {
-                                movedResources.put(key, movedTo);
+        try (Span span = Probe.start(Operation.RESOURCE_CHANGED)) {
+            Map<String, IResource> movedResources = new HashMap<>();
+            Set<String> removedKeys = new HashSet<>();
+            Set<String> addedKeys = new HashSet<>();
+            Set<String> reopenedKeys = new HashSet<>();
+            try {
+                event.getDelta().accept(new IResourceDeltaVisitor() {
+                    @Override
+                    public boolean visit(IResourceDelta delta) throws CoreException {
+                        IResource resource = delta.getResource();
+                        if (resource == null || resource.getType() == IResource.ROOT) {
+                            return true;
+                        }
+                        String absolute = Resources.toAbsolutePath(resource);
+                        if (absolute == null) {
+                            return true;
+                        }
+                        String key = Resources.keyFor(absolute);
+                        if (delta.getKind() == IResourceDelta.REMOVED) {
+                            int flags = delta.getFlags();
+                            if ((flags & IResourceDelta.MOVED_TO) != 0) {
+                                IResource movedTo = workspace.getRoot().findMember(delta.getMovedToPath());
+                                if (movedTo != null) {
+                                    movedResources.put(key, movedTo);
+                                }
+                            } else {
+                                removedKeys.add(key);
                             }
-                        } else {
-                            removedKeys.add(key);
                         }
+                        if (delta.getKind() == IResourceDelta.ADDED) {
+                            removedKeys.remove(key);
+                            addedKeys.add(key);
+                        }
+                        if (delta.getKind() == IResourceDelta.CHANGED && (delta.getFlags() & IResourceDelta.OPEN) != 0) {
+                            reopenedKeys.add(key);
+                            return false;
+                        }
+                        return true;
                     }
-                    if (delta.getKind() == IResourceDelta.ADDED) {
-                        removedKeys.remove(key);
-                    }
-                    return true;
+                });
+            } catch (CoreException ex) {
+                log("Failed to process resource change", ex);
+            }
+            boolean changed;
+            synchronized (this) {
+                ensureLoaded();
+                changed = applyResourceUpdates(movedResources, removedKeys);
+                List<FavoriteEntry> affected = affectedEntries(addedKeys, reopenedKeys);
+                if (!affected.isEmpty() && refreshStatuses(affected)) {
+                    changed = true;
                 }
-            });
-        } catch (CoreException ex) {
-            log("Failed to process resource change", ex);
-        }
-        boolean changed;
-        synchronized (this) {
-            changed = applyResourceUpdates(movedResources, removedKeys);
-            if (refreshStatuses()) {
-                changed = true;
             }
-        }
-        if (changed) {
-            notifyListeners();
+            if (changed) {
+                notifyListeners();
+            }
+            span.items(movedResources.size() + removedKeys.size() + addedKeys.size());
         }
     }
 
@@ -376,19 +888,21 @@ public class FavoritesStore {
         for (Map.Entry<String, IResource> moved : movedResources.entrySet()) {
             FavoriteEntry entry = entriesByKey.remove(moved.getKey());
             if (entry != null) {
+                markShared(moved.getKey());
                 IResource target = moved.getValue();
                 entry.setAbsolutePath(Resources.toAbsolutePath(target));
                 entry.setWorkspacePath(target.getFullPath().toString());
                 entry.setLabel(target.getName());
-                entry.setStatus(Resources.exists(entry) ? FavoriteEntry.Status.OK : FavoriteEntry.Status.MISSING);
+                applyStatus(entry, Resources.exists(workspace.getRoot(), entry) ? FavoriteEntry.Status.OK : FavoriteEntry.Status.MISSING);
                 entriesByKey.put(entry.getKey(), entry);
+                entryUpdated(entry);
                 changed = true;
             }
         }
         for (String removedKey : removedKeys) {
             FavoriteEntry entry = entriesByKey.get(removedKey);
             if (entry != null && !entry.isMissing()) {
-                entry.setStatus(FavoriteEntry.Status.MISSING);
+                applyStatus(entry, FavoriteEntry.Status.MISSING);
                 changed = true;
             }
         }
@@ -398,15 +912,45 @@ public class FavoritesStore {
         return changed;
     }
 
-    private boolean refreshStatuses() {
+    /**
+     * Entries whose resource was added, plus all entries below a project that was opened or closed. Everything else
+     * is left to {@link #verifyStatuses}.
+     */
+    private List<FavoriteEntry> affectedEntries(Set<String> addedKeys, Set<String> reopenedKeys) {
+        List<FavoriteEntry> affected = new ArrayList<>();
+        for (String key : addedKeys) {
+            FavoriteEntry entry = entriesByKey.get(key);
+            if (entry != null) {
+                affected.add(entry);
+            }
+        }
+        if (!reopenedKeys.isEmpty()) {
+            for (FavoriteEntry entry : entries) {
+                for (String prefix : reopenedKeys) {
+                    String key = entry.getKey();
+                    if (key.startsWith(prefix) && (key.length() == prefix.length() || key.charAt(prefix.length()) == '/'
+                            || key.charAt(prefix.length()) == '\\')) {
+                        affected.add(entry);
+                        break;
+                    }
+                }
+            }
+        }
+        return affected;
+    }
+
+    private boolean refreshStatuses(Collection<FavoriteEntry> candidates) {
         boolean changed = false;
-        for (FavoriteEntry entry : entries) {
-            boolean exists = Resources.exists(entry);
-            FavoriteEntry.Status newStatus = exists ? FavoriteEntry.Status.OK : FavoriteEntry.Status.MISSING;
-            if (entry.getStatus() != newStatus) {
-                entry.setStatus(newStatus);
-                changed = true;
+        try (Span span = Probe.start(Operation.REFRESH_STATUSES)) {
+            for (FavoriteEntry entry : candidates) {
+                boolean exists = Resources.exists(workspace.getRoot(), entry);
+                FavoriteEntry.Status newStatus = exists ? FavoriteEntry.Status.OK : FavoriteEntry.Status.MISSING;
+                if (entry.getStatus() != newStatus) {
+                    applyStatus(entry, newStatus);
+                    changed = true;
+                }
             }
+            span.items(candidates.size());
         }
         if (changed) {
             saveNow();
@@ -415,9 +959,12 @@ public class FavoritesStore {
     }
 
     private void notifyListeners() {
-        List<FavoriteEntry> snapshot = getEntries();
-        for (FavoritesStoreListener listener : listeners) {
-            safeExecute(listener::entriesChanged, snapshot);
+        try (Span span = Probe.start(Operation.NOTIFY_LISTENERS)) {
+            List<FavoriteEntry> snapshot = getEntries();
+            for (FavoritesStoreListener listener : listeners) {
+                safeExecute(listener::entriesChanged, snapshot);
+            }
+            span.items(snapshot.size());
         }
     }
 
@@ -430,15 +977,19 @@ public class FavoritesStore {
     }
 
     private void log(String message, Throwable t) {
-        FavoritesPlugin plugin = FavoritesPlugin.getDefault();
-        if (plugin != null) {
-            plugin.getLog().log(new Status(IStatus.ERROR, FavoritesPlugin.PLUGIN_ID, message, t));
-        }
+        ILog.of(FavoritesStore.class).log(Status.error(message, t));
     }
 
-    private static final class JsonSupport {
+    static final class JsonSupport {
 
         static String write(List<FavoriteEntry> entries) {
+            try (Span span = Probe.start(Operation.JSON_SERIALIZE)) {
+                span.items(entries.size());
+                return serialize(entries);
+            }
+        }
+
+        private static String serialize(List<FavoriteEntry> entries) {
             StringBuilder sb = new StringBuilder();
             sb.append('[');
             boolean first = true;
@@ -448,26 +999,53 @@ public class FavoritesStore {
                 }
                 first = false;
                 sb.append('{');
-                append(sb, "path", entry.getAbsolutePath());
-                sb.append(',');
-                append(sb, "workspace", entry.isWorkspaceResource());
-                sb.append(',');
-                append(sb, "workspacePath", entry.getWorkspacePath());
-                sb.append(',');
-                append(sb, "label", entry.getLabel());
-                sb.append(',');
-                append(sb, "comment", entry.getComment());
-                sb.append(',');
-                append(sb, "status", entry.getStatus().name());
+                appendFields(sb, entry);
                 sb.append('}');
             }
             sb.append(']');
             return sb.toString();
         }
 
+        static void appendFields(StringBuilder sb, FavoriteEntry entry) {
+            append(sb, "path", entry.getAbsolutePath());
+            sb.append(',');
+            append(sb, "workspace", entry.isWorkspaceResource());
+            sb.append(',');
+            append(sb, "workspacePath", entry.getWorkspacePath());
+            sb.append(',');
+            append(sb, "label", entry.getLabel());
+            sb.append(',');
+            append(sb, "comment", entry.getComment());
+            sb.append(',');
+            append(sb, "status", entry.getStatus().name());
+            sb.append(',');
+            append(sb, "directory", entry.isDirectory());
+        }
+
         static List<FavoriteEntry> read(String json) {
-            Parser parser = new Parser(json);
-            return parser.parseArray();
+            return read(json, JsonSupport::toEntry);
+        }
+
+        static <T> List<T> read(String json, Function<Map<String, String>, T> mapper) {
+            try (Span span = Probe.start(Operation.JSON_PARSE)) {
+                Parser parser = new Parser(json);
+                List<T> result = parser.parseArray(mapper);
+                span.items(result.size());
+                return result;
+            }
+        }
+
+        static FavoriteEntry toEntry(Map<String, String> values) {
+            String path = values.get("path");
+            boolean workspace = Boolean.parseBoolean(values.getOrDefault("workspace", "false"));
+            String workspacePath = values.get("workspacePath");
+            String label = values.get("label");
+            String statusValue = values.get("status");
+            FavoriteEntry.Status status = statusValue == null ? FavoriteEntry.Status.OK : FavoriteEntry.Status.valueOf(statusValue.toUpperCase(Locale.ENGLISH));
+            String comment = values.get("comment");
+            FavoriteEntry entry = new FavoriteEntry(path, workspace, workspacePath, label, status, comment);
+            entry.setDirectory(Boolean.parseBoolean(values.getOrDefault("directory", "false")));
+            return entry;
         }
 
         private static void append(StringBuilder sb, String name, String value) {
@@ -479,7 +1057,11 @@ public class FavoritesStore {
             }
         }
 
-        private static void append(StringBuilder sb, String name, boolean value) {
+        static void append(StringBuilder sb, String name, boolean value) {
+            sb.append('"').append(escape(name)).append('"').append(':').append(value);
+        }
+
+        static void append(StringBuilder sb, String name, long value) {
             sb.append('"').append(escape(name)).append('"').append(':').append(value);
         }
 
@@ -507,20 +1089,20 @@ public class FavoritesStore {
                 this.reader = new StringReader(json == null ? "" : json);
             }
 
-            List<FavoriteEntry> parseArray() {
+            <T> List<T> parseArray(Function<Map<String, String>, T> mapper) {
                 skipWhitespace();
                 if (peek() != '[') {
                     throw new IllegalArgumentException("Expected '[' at start of favorites JSON");
                 }
                 consume();
-                List<FavoriteEntry> result = new ArrayList<>();
+                List<T> result = new ArrayList<>();
                 skipWhitespace();
                 if (peek() == ']') {
                     consume();
                     return result;
                 }
                 while (true) {
-                    result.add(parseObject());
+                    result.add(mapper.apply(parseObject()));
                     skipWhitespace();
                     char c = peek();
                     if (c == ',') {
@@ -537,7 +1119,7 @@ public class FavoritesStore {
                 return result;
             }
 
-            private FavoriteEntry parseObject() {
+            private Map<String, String> parseObject() {
                 skipWhitespace();
                 if (peek() != '{') {
                     throw new IllegalArgumentException("Expected '{' in favorites JSON");
@@ -560,7 +1142,7 @@ public class FavoritesStore {
                         if (nextChar == 'n') {
                             expectLiteral("null");
                             value = null;
-                        } else if (nextChar == 't' || nextChar == 'f') {
+                        } else if (nextChar == 't' || nextChar == 'f' || nextChar == '-' || Character.isDigit(nextChar)) {
                             value = parseLiteral();
                         } else if (nextChar == '"') {
                             value = parseString();
@@ -582,20 +1164,13 @@ public class FavoritesStore {
                         throw new IllegalArgumentException("Expected ',' or '}' in favorites JSON object");
                     }
                 }
-                String path = values.get("path");
-                boolean workspace = Boolean.parseBoolean(values.getOrDefault("workspace", "false"));
-                String workspacePath = values.get("workspacePath");
-                String label = values.get("label");
-                String statusValue = values.get("status");
-                FavoriteEntry.Status status = statusValue == null ? FavoriteEntry.Status.OK : FavoriteEntry.Status.valueOf(statusValue.toUpperCase(Locale.ENGLISH));
-                String comment = values.get("comment");
-                return new FavoriteEntry(path, workspace, workspacePath, label, status, comment);
+                return values;
             }
 
             private String parseLiteral() {
                 StringBuilder literal = new StringBuilder();
                 char c = peek();
-                while (Character.isLetter(c)) {
+                while (Character.isLetterOrDigit(c) || c == '-') {
                     literal.append(consume());
                     c = peek();
                 }
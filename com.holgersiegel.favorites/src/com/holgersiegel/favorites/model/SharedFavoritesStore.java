@@ -0,0 +1,557 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.ILog;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.holgersiegel.favorites.diagnostics.Operation;
+import com.holgersiegel.favorites.diagnostics.Probe;
+import com.holgersiegel.favorites.diagnostics.Span;
+
+/**
+ * Favorites file shared by several workspaces. Writers hold an exclusive lock on a sibling lock file and replace the
+ * data file atomically. Every record carries a version, so other instances learn about a change through a
+ * {@link WatchService} and merge only the records that are newer than the ones they have already seen. Reading and
+ * writing the file happens in a background job, never while the {@link FavoritesStore} is locked. Removed entries
+ * stay in the file as tombstones for {@link #TOMBSTONE_RETENTION} milliseconds.
+ */
+public final class SharedFavoritesStore {
+
+    public static final String PROPERTY = "favorites.sharedStore";
+    public static final String FILE_NAME = "favorites.json";
+
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final long MERGE_DELAY = 100;
+    static final long TOMBSTONE_RETENTION = TimeUnit.DAYS.toMillis(30);
+    // FileChannel locks are held per JVM, so instances in one process must not ask for them concurrently
+    private static final Map<Path, Object> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final Path lockFile;
+    private final Object lifecycle = new Object();
+    private final Map<String, Long> versions = new HashMap<>();
+    private final Object pendingLock = new Object();
+    private Publication pending = new Publication();
+    private List<String> order = Collections.emptyList();
+    private long revision;
+    private volatile FavoritesStore store;
+    private volatile Job syncJob;
+    private WatchService watchService;
+    private boolean disposed;
+
+    public SharedFavoritesStore(Path file) {
+        this.file = file.toAbsolutePath().normalize();
+        this.lockFile = this.file.resolveSibling(this.file.getFileName() + LOCK_SUFFIX);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void attach(FavoritesStore favoritesStore) throws IOException {
+        synchronized (lifecycle) {
+            if (disposed || store != null) {
+                return;
+            }
+            Files.createDirectories(file.getParent());
+            Job job = Job.create("Synchronizing shared favorites", monitor -> {
+                sync();
+                return Status.OK_STATUS;
+            });
+            job.setSystem(true);
+            syncJob = job;
+            watch();
+            store = favoritesStore;
+        }
+        synchronized (this) {
+            favoritesStore.attachShared(this, read());
+        }
+        sync();
+    }
+
+    public void dispose() {
+        synchronized (lifecycle) {
+            disposed = true;
+            if (syncJob != null) {
+                syncJob.cancel();
+                syncJob = null;
+            }
+            if (store != null) {
+                // the last local changes of the session would otherwise stay queued
+                synchronized (this) {
+                    writePending();
+                }
+                store.detachShared(this);
+                store = null;
+            }
+            if (watchService != null) {
+                try {
+                    watchService.close();
+                } catch (IOException ex) {
+                    // the watcher thread ends either way
+                }
+                watchService = null;
+            }
+        }
+    }
+
+    /**
+     * Queues local changes for the sync job. The entries must be copies the store no longer modifies; {@code order}
+     * is {@code null} unless the entries were reordered.
+     */
+    void publishLater(List<FavoriteEntry> changed, Set<String> removedKeys, List<String> order) {
+        synchronized (pendingLock) {
+            for (FavoriteEntry entry : changed) {
+                pending.update(entry);
+            }
+            for (String key : removedKeys) {
+                pending.remove(key);
+            }
+            if (order != null) {
+                pending.order = order;
+            }
+        }
+        Job job = syncJob;
+        if (job != null) {
+            job.schedule();
+        }
+    }
+
+    /**
+     * Keys with local changes that have not been written yet. Remote changes to them are ignored.
+     */
+    Set<String> getPendingKeys() {
+        synchronized (pendingLock) {
+            if (pending.isEmpty()) {
+                return Collections.emptySet();
+            }
+            Set<String> keys = new HashSet<>(pending.entries.keySet());
+            keys.addAll(pending.removedKeys);
+            return keys;
+        }
+    }
+
+    /**
+     * Writes the pending local changes, then reads the records other instances changed and hands them to the store.
+     * Changes are applied before the monitor is released, so a later read can never be overtaken by an earlier one.
+     */
+    void sync() {
+        FavoritesStore target = store;
+        if (target == null) {
+            return;
+        }
+        synchronized (this) {
+            writePending();
+            Changes changes = read();
+            if (changes != null) {
+                target.applyShared(this, changes);
+            }
+        }
+    }
+
+    private void writePending() {
+        Publication publication;
+        synchronized (pendingLock) {
+            publication = pending;
+            pending = new Publication();
+        }
+        if (publication.isEmpty()) {
+            return;
+        }
+        try {
+            publish(publication);
+        } catch (IOException ex) {
+            synchronized (pendingLock) {
+                pending.addOlder(publication);
+            }
+            log("Failed to write shared favorites", ex);
+        }
+    }
+
+    private Changes read() {
+        try {
+            return readChanges();
+        } catch (IOException ex) {
+            log("Failed to read shared favorites", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the records that are newer than the last synced version, or {@code null} if nothing changed.
+     */
+    private Changes readChanges() throws IOException {
+        List<String> previousOrder = order;
+        List<Record> records = withLock(true, this::readRecords);
+        List<FavoriteEntry> updated = new ArrayList<>();
+        Set<String> removedKeys = new HashSet<>();
+        List<String> fileOrder = new ArrayList<>(records.size());
+        Set<String> present = new HashSet<>();
+        for (Record record : records) {
+            String key = record.entry.getKey();
+            present.add(key);
+            revision = Math.max(revision, record.version);
+            if (!record.deleted) {
+                fileOrder.add(key);
+            }
+            if (record.version <= versions.getOrDefault(key, 0L)) {
+                continue;
+            }
+            versions.put(key, record.version);
+            if (record.deleted) {
+                removedKeys.add(key);
+            } else {
+                updated.add(record.entry);
+            }
+        }
+        // tombstones compacted away by a writer
+        versions.keySet().retainAll(present);
+        boolean reordered = !fileOrder.equals(order);
+        order = fileOrder;
+        if (updated.isEmpty() && removedKeys.isEmpty() && !reordered) {
+            return null;
+        }
+        return new Changes(updated, removedKeys, reordered ? fileOrder : null, previousOrder);
+    }
+
+    /**
+     * Writes the entries that changed locally since the last sync. Records changed by other instances in the
+     * meantime are kept; for entries changed on both sides the local state wins.
+     */
+    private void publish(Publication publication) throws IOException {
+        List<String> localOrder = publication.order == null || publication.order.equals(order) ? null : publication.order;
+        if (publication.entries.isEmpty() && publication.removedKeys.isEmpty() && localOrder == null) {
+            return;
+        }
+        try (Span span = Probe.start(Operation.SHARED_PUBLISH)) {
+            span.items(publication.entries.size() + publication.removedKeys.size());
+            withLock(false, () -> {
+                write(publication.entries, publication.removedKeys, localOrder);
+                return null;
+            });
+        }
+        for (String key : publication.entries.keySet()) {
+            versions.put(key, revision);
+        }
+        for (String key : publication.removedKeys) {
+            versions.put(key, revision);
+        }
+    }
+
+    private void write(Map<String, FavoriteEntry> dirty, Set<String> deleted, List<String> localOrder) throws IOException {
+        List<Record> current = readRecords();
+        Map<String, Record> byKey = new LinkedHashMap<>();
+        List<String> fileOrder = new ArrayList<>(current.size());
+        long now = System.currentTimeMillis();
+        long next = revision;
+        for (Record record : current) {
+            next = Math.max(next, record.version);
+            if (record.deleted && record.deletedAt > 0 && now - record.deletedAt > TOMBSTONE_RETENTION) {
+                continue;
+            }
+            byKey.put(record.entry.getKey(), record.deleted && record.deletedAt <= 0 ? record.deletedAt(now) : record);
+            if (!record.deleted) {
+                fileOrder.add(record.entry.getKey());
+            }
+        }
+        next++;
+        for (Map.Entry<String, FavoriteEntry> changed : dirty.entrySet()) {
+            byKey.put(changed.getKey(), new Record(changed.getValue(), next, false, 0));
+        }
+        for (String key : deleted) {
+            Record existing = byKey.get(key);
+            if (existing != null && !existing.deleted) {
+                byKey.put(key, new Record(existing.entry, next, true, now));
+            }
+        }
+        List<Record> written = new ArrayList<>(byKey.size());
+        if (localOrder != null) {
+            for (String key : localOrder) {
+                Record record = byKey.remove(key);
+                if (record != null) {
+                    written.add(record);
+                }
+            }
+        }
+        written.addAll(byKey.values());
+        List<String> writtenOrder = new ArrayList<>(written.size());
+        StringBuilder json = new StringBuilder();
+        json.append('[');
+        for (Record record : written) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('{');
+            FavoritesStore.JsonSupport.appendFields(json, record.entry);
+            json.append(',');
+            FavoritesStore.JsonSupport.append(json, "version", record.version);
+            if (record.deleted) {
+                json.append(',');
+                FavoritesStore.JsonSupport.append(json, "deleted", true);
+                json.append(',');
+                FavoritesStore.JsonSupport.append(json, "deletedAt", record.deletedAt);
+            } else {
+                writtenOrder.add(record.entry.getKey());
+            }
+            json.append('}');
+        }
+        json.append(']');
+        replace(json.toString().getBytes(StandardCharsets.UTF_8));
+        revision = next;
+        if (localOrder != null || fileOrder.equals(order)) {
+            // otherwise the file carries an order this instance has not merged yet
+            order = writtenOrder;
+        }
+    }
+
+    private List<Record> readRecords() throws IOException {
+        if (!Files.exists(file)) {
+            return Collections.emptyList();
+        }
+        String json = Files.readString(file, StandardCharsets.UTF_8);
+        if (json.isBlank()) {
+            return Collections.emptyList();
+        }
+        try {
+            return FavoritesStore.JsonSupport.read(json, Record::of);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("Corrupt shared favorites file " + file, ex);
+        }
+    }
+
+    private void replace(byte[] content) throws IOException {
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private <T> T withLock(boolean shared, LockedAction<T> action) throws IOException {
+        synchronized (PROCESS_LOCKS.computeIfAbsent(lockFile, path -> new Object())) {
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE); FileLock lock = channel.lock(0, Long.MAX_VALUE, shared)) {
+                return action.run();
+            }
+        }
+    }
+
+    private void watch() throws IOException {
+        WatchService service = file.getFileSystem().newWatchService();
+        file.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watchService = service;
+        Job job = syncJob;
+        Thread thread = new Thread(() -> watchLoop(service, job), "Favorites shared store watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watchLoop(WatchService service, Job job) {
+        Path name = file.getFileName();
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context());
+                }
+                if (changed) {
+                    job.schedule(MERGE_DELAY);
+                }
+                if (!key.reset()) {
+                    ILog.of(SharedFavoritesStore.class).log(Status.warning("Stopped watching shared favorites in " + file.getParent()));
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // disposed
+        }
+    }
+
+    private static void log(String message, Throwable ex) {
+        ILog.of(SharedFavoritesStore.class).log(Status.error(message, ex));
+    }
+
+    private interface LockedAction<T> {
+
+        T run() throws IOException;
+    }
+
+    private static final class Record {
+
+        private final FavoriteEntry entry;
+        private final long version;
+        private final boolean deleted;
+        private final long deletedAt;
+
+        Record(FavoriteEntry entry, long version, boolean deleted, long deletedAt) {
+            this.entry = entry;
+            this.version = version;
+            this.deleted = deleted;
+            this.deletedAt = deletedAt;
+        }
+
+        Record deletedAt(long time) {
+            return new Record(entry, version, deleted, time);
+        }
+
+        static Record of(Map<String, String> values) {
+            long version;
+            long deletedAt;
+            try {
+                version = Long.parseLong(values.getOrDefault("version", "0"));
+                deletedAt = Long.parseLong(values.getOrDefault("deletedAt", "0"));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid version in shared favorites", ex);
+            }
+            boolean deleted = Boolean.parseBoolean(values.getOrDefault("deleted", "false"));
+            return new Record(FavoritesStore.JsonSupport.toEntry(values), version, deleted, deletedAt);
+        }
+    }
+
+    private static final class Publication {
+
+        private final Map<String, FavoriteEntry> entries = new LinkedHashMap<>();
+        private final Set<String> removedKeys = new HashSet<>();
+        private List<String> order;
+
+        void update(FavoriteEntry entry) {
+            entries.put(entry.getKey(), entry);
+            removedKeys.remove(entry.getKey());
+        }
+
+        void remove(String key) {
+            entries.remove(key);
+            removedKeys.add(key);
+        }
+
+        boolean isEmpty() {
+            return entries.isEmpty() && removedKeys.isEmpty() && order == null;
+        }
+
+        /**
+         * Puts back changes that failed to be written, unless they have been superseded since.
+         */
+        void addOlder(Publication older) {
+            for (Map.Entry<String, FavoriteEntry> entry : older.entries.entrySet()) {
+                if (!entries.containsKey(entry.getKey()) && !removedKeys.contains(entry.getKey())) {
+                    entries.put(entry.getKey(), entry.getValue());
+                }
+            }
+            for (String key : older.removedKeys) {
+                if (!entries.containsKey(key)) {
+                    removedKeys.add(key);
+                }
+            }
+            if (order == null) {
+                order = older.order;
+            }
+        }
+    }
+
+    static final class Changes {
+
+        private final List<FavoriteEntry> updated;
+        private final Set<String> removedKeys;
+        private final List<String> order;
+        private final List<String> previousOrder;
+
+        Changes(List<FavoriteEntry> updated, Set<String> removedKeys, List<String> order, List<String> previousOrder) {
+            this.updated = updated;
+            this.removedKeys = removedKeys;
+            this.order = order;
+            this.previousOrder = previousOrder;
+        }
+
+        List<FavoriteEntry> getUpdated() {
+            return updated;
+        }
+
+        Set<String> getRemovedKeys() {
+            return removedKeys;
+        }
+
+        /**
+         * Keys in the shared order, or {@code null} if the order did not change.
+         */
+        List<String> getOrder() {
+            return order;
+        }
+
+        /**
+         * Whether the entries are still in the order that was last synced, i.e. not reordered locally.
+         */
+        boolean isPreviousOrder(List<FavoriteEntry> entries) {
+            if (entries.size() != previousOrder.size()) {
+                return false;
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                if (!entries.get(i).getKey().equals(previousOrder.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -23,10 +23,39 @@
  */
 package com.holgersiegel.favorites.util;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Dictionary;
+import java.util.Hashtable;
+
+import javax.management.JMException;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.osgi.service.debug.DebugOptions;
+import org.eclipse.osgi.service.datalocation.Location;
+import org.eclipse.osgi.service.debug.DebugOptionsListener;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.commands.ICommandService;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
 
+import com.holgersiegel.favorites.diagnostics.FavoritesDiagnostics;
+import com.holgersiegel.favorites.diagnostics.FavoritesTracing;
+import com.holgersiegel.favorites.diagnostics.UiWatchdog;
+import com.holgersiegel.favorites.handlers.CommandWatchdog;
+import com.holgersiegel.favorites.menus.TypeHierarchyCache;
 import com.holgersiegel.favorites.model.FavoritesStore;
+import com.holgersiegel.favorites.model.SharedFavoritesStore;
 
 public class FavoritesPlugin extends AbstractUIPlugin {
 
@@ -35,6 +64,13 @@ public class FavoritesPlugin extends AbstractUIPlugin {
     private static FavoritesPlugin plugin;
 
     private FavoritesStore favoritesStore;
+    private SharedFavoritesStore sharedStore;
+    private TypeHierarchyCache typeHierarchyCache;
+    private FavoritesDiagnostics diagnostics;
+    private FavoritesTracing tracing;
+    private CommandWatchdog commandWatchdog;
+    private ServiceRegistration<DebugOptionsListener> tracingRegistration;
+    private Job loadJob;
 
     public FavoritesPlugin() {
     }
@@ -47,25 +83,159 @@ public class FavoritesPlugin extends AbstractUIPlugin {
         return favoritesStore;
     }
 
+    public FavoritesDiagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Registers the diagnostics MBean and the flight recorder events. Happens on demand so that a plain activation
+     * touches neither the platform MBean server nor the flight recorder.
+     */
+    public void registerDiagnostics() {
+        FavoritesDiagnostics current = diagnostics;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.register();
+        } catch (JMException ex) {
+            getLog().log(new Status(IStatus.WARNING, PLUGIN_ID, "Failed to register favorites diagnostics MBean", ex));
+        }
+        installFlightRecorderEvents(false);
+    }
+
+    public synchronized TypeHierarchyCache getTypeHierarchyCache() {
+        if (typeHierarchyCache == null) {
+            typeHierarchyCache = new TypeHierarchyCache();
+        }
+        return typeHierarchyCache;
+    }
+
     @Override
     public void start(BundleContext context) throws Exception {
         super.start(context);
         plugin = this;
-        favoritesStore = new FavoritesStore();
-        favoritesStore.load();
+        diagnostics = new FavoritesDiagnostics();
+        if (Boolean.getBoolean(FavoritesDiagnostics.ENABLED_PROPERTY)) {
+            diagnostics.setEnabled(true);
+            registerDiagnostics();
+        }
+        installFlightRecorderEvents(true);
+        UiWatchdog uiWatchdog = diagnostics.getUiWatchdog();
+        long threshold = Long.getLong(UiWatchdog.THRESHOLD_PROPERTY, UiWatchdog.DEFAULT_THRESHOLD_MILLIS);
+        if (threshold > 0) {
+            uiWatchdog.setThresholdMillis(threshold);
+        }
+        uiWatchdog.setStallHandler(stall -> getLog().log(new Status(IStatus.WARNING, PLUGIN_ID, stall.getMessage(), stall)));
+        diagnostics.setUiWatchdogEnabled(Boolean.getBoolean(UiWatchdog.ENABLED_PROPERTY));
+        if (PlatformUI.isWorkbenchRunning()) {
+            commandWatchdog = new CommandWatchdog();
+            commandWatchdog.install(PlatformUI.getWorkbench().getService(ICommandService.class));
+        }
+        tracing = new FavoritesTracing(PLUGIN_ID);
+        Dictionary<String, Object> properties = new Hashtable<>();
+        properties.put(DebugOptions.LISTENER_SYMBOLICNAME, PLUGIN_ID);
+        tracingRegistration = context.registerService(DebugOptionsListener.class, tracing, properties);
+        favoritesStore = new FavoritesStore(InstanceScope.INSTANCE.getNode(PLUGIN_ID), ResourcesPlugin.getWorkspace());
+        FavoritesStore store = favoritesStore;
+        SharedFavoritesStore shared = createSharedStore();
+        sharedStore = shared;
+        loadJob = Job.create("Loading favorites", monitor -> {
+            store.ensureLoaded();
+            if (shared != null) {
+                try {
+                    shared.attach(store);
+                } catch (IOException ex) {
+                    getLog().log(new Status(IStatus.WARNING, PLUGIN_ID, "Failed to share favorites via " + shared.getFile(), ex));
+                }
+            }
+            return Status.OK_STATUS;
+        });
+        loadJob.setSystem(true);
+        loadJob.schedule();
     }
 
     @Override
     public void stop(BundleContext context) throws Exception {
         try {
+            if (loadJob != null) {
+                loadJob.cancel();
+                loadJob = null;
+            }
             if (favoritesStore != null) {
                 favoritesStore.saveNow();
+            }
+            if (sharedStore != null) {
+                sharedStore.dispose();
+                sharedStore = null;
+            }
+            if (favoritesStore != null) {
                 favoritesStore.dispose();
             }
+            synchronized (this) {
+                if (typeHierarchyCache != null) {
+                    typeHierarchyCache.dispose();
+                    typeHierarchyCache = null;
+                }
+            }
+            if (commandWatchdog != null) {
+                commandWatchdog.dispose();
+                commandWatchdog = null;
+            }
+            if (tracingRegistration != null) {
+                tracingRegistration.unregister();
+                tracingRegistration = null;
+            }
+            if (tracing != null) {
+                tracing.dispose();
+            }
+            if (diagnostics != null) {
+                diagnostics.dispose();
+            }
         } finally {
+            tracing = null;
+            diagnostics = null;
             favoritesStore = null;
             plugin = null;
             super.stop(context);
         }
     }
+
+    private void installFlightRecorderEvents(boolean onlyWhenRequested) {
+        FavoritesDiagnostics current = diagnostics;
+        if (current == null) {
+            return;
+        }
+        try {
+            if (!onlyWhenRequested || FavoritesDiagnostics.isFlightRecorderRequested()) {
+                current.installFlightRecorderEvents();
+            }
+        } catch (LinkageError | RuntimeException ex) {
+            getLog().log(new Status(IStatus.WARNING, PLUGIN_ID, "Flight recorder events for favorites are not available", ex));
+        }
+    }
+
+    private SharedFavoritesStore createSharedStore() {
+        String setting = System.getProperty(SharedFavoritesStore.PROPERTY);
+        if (setting == null || setting.isBlank() || "false".equalsIgnoreCase(setting)) {
+            return null;
+        }
+        if ("true".equalsIgnoreCase(setting)) {
+            return new SharedFavoritesStore(defaultSharedFile());
+        }
+        try {
+            return new SharedFavoritesStore(Paths.get(setting));
+        } catch (InvalidPathException ex) {
+            getLog().log(new Status(IStatus.WARNING, PLUGIN_ID, "Invalid shared favorites file: " + setting, ex));
+            return null;
+        }
+    }
+
+    private static Path defaultSharedFile() {
+        Location userLocation = Platform.getUserLocation();
+        URL url = userLocation == null ? null : userLocation.getURL();
+        Path base = url != null && "file".equals(url.getProtocol()) ? new File(url.getFile()).toPath()
+                : Paths.get(System.getProperty("user.home"));
+        return base.resolve(".eclipse").resolve(PLUGIN_ID).resolve(SharedFavoritesStore.FILE_NAME);
+    }
 }
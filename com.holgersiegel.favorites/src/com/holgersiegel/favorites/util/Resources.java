@@ -23,11 +23,13 @@
  */
 package com.holgersiegel.favorites.util;
 
+import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Locale;
 import java.util.Optional;
 
@@ -37,6 +39,8 @@ import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IPath;
 
+import com.holgersiegel.favorites.diagnostics.Counter;
+import com.holgersiegel.favorites.diagnostics.Probe;
 import com.holgersiegel.favorites.model.FavoriteEntry;
 
 public final class Resources {
@@ -95,11 +99,27 @@ public final class Resources {
     }
 
     public static boolean exists(FavoriteEntry entry) {
+        return exists(ResourcesPlugin.getWorkspace().getRoot(), entry);
+    }
+
+    public static boolean exists(IWorkspaceRoot root, FavoriteEntry entry) {
         if (entry.isWorkspaceResource()) {
-            IResource resource = resolveWorkspaceResource(entry);
+            IResource resource = resolveWorkspaceResource(root, entry);
             return resource != null && resource.exists();
         }
-        return toPath(entry).map(Files::exists).orElse(false);
+        return toPath(entry).map(path -> {
+            Probe.increment(Counter.FILE_SYSTEM_CALLS);
+            return Files.exists(path);
+        }).orElse(false);
+    }
+
+    public static BasicFileAttributes readAttributes(Path path) {
+        Probe.increment(Counter.FILE_SYSTEM_CALLS);
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException | SecurityException ex) {
+            return null;
+        }
     }
 
     public static boolean isDirectory(FavoriteEntry entry) {
@@ -107,14 +127,23 @@ public final class Resources {
             IResource resource = resolveWorkspaceResource(entry);
             return resource != null && resource.getType() != IResource.FILE;
         }
-        return toPath(entry).map(Files::isDirectory).orElse(false);
+        return toPath(entry).map(path -> {
+            Probe.increment(Counter.FILE_SYSTEM_CALLS);
+            return Files.isDirectory(path);
+        }).orElse(false);
     }
 
     public static IResource resolveWorkspaceResource(FavoriteEntry entry) {
         if (!entry.isWorkspaceResource()) {
             return null;
         }
-        IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+        return resolveWorkspaceResource(ResourcesPlugin.getWorkspace().getRoot(), entry);
+    }
+
+    public static IResource resolveWorkspaceResource(IWorkspaceRoot root, FavoriteEntry entry) {
+        if (!entry.isWorkspaceResource()) {
+            return null;
+        }
         String workspacePath = entry.getWorkspacePath();
         if (workspacePath != null && !workspacePath.isEmpty()) {
             return root.findMember(new org.eclipse.core.runtime.Path(workspacePath));
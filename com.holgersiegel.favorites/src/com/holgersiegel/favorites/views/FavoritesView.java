@@ -41,9 +41,12 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jdt.core.IType;
 import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IAction;
 import org.eclipse.jface.action.IToolBarManager;
 import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.resource.ImageDescriptor;
@@ -68,6 +71,7 @@ import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.ViewerCell;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.ControlAdapter;
@@ -87,8 +91,11 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeColumn;
+import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Menu;
+import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorPart;
@@ -109,9 +116,17 @@ import org.eclipse.ui.handlers.IHandlerService;
 import org.eclipse.ui.part.ResourceTransfer;
 import org.eclipse.ui.part.ViewPart;
 import org.eclipse.ui.services.IEvaluationService;
+import com.holgersiegel.favorites.diagnostics.Counter;
+import com.holgersiegel.favorites.diagnostics.Operation;
+import com.holgersiegel.favorites.diagnostics.Probe;
+import com.holgersiegel.favorites.diagnostics.Span;
+import com.holgersiegel.favorites.diagnostics.UiWatchdog;
 import com.holgersiegel.favorites.dnd.FavoritesDragSource;
 import com.holgersiegel.favorites.dnd.FavoritesDropAdapter;
+import com.holgersiegel.favorites.menus.TypeHierarchyCache;
 import com.holgersiegel.favorites.model.FavoriteEntry;
+import com.holgersiegel.favorites.model.FavoriteGroup;
+import com.holgersiegel.favorites.model.FavoritesSorter;
 import com.holgersiegel.favorites.model.FavoritesStore;
 import com.holgersiegel.favorites.model.FavoritesStoreListener;
 import com.holgersiegel.favorites.util.FavoritesPlugin;
@@ -126,10 +141,14 @@ public class FavoritesView extends ViewPart {
     private static final String VIEW_ICON_PATH = "icons/smiley.png";
     private static final String PREF_KEY_COMMENT_WIDTH = "favoritesView.commentWidth";
     private static final String PREF_KEY_COMMENT_AUTO_WIDTH = "favoritesView.commentAutoWidth";
+    private static final String PREF_KEY_GROUPED = "favoritesView.grouped";
     private static final int DEFAULT_COMMENT_WIDTH = 320;
+    private static final String MISSING_STATUS_TEXT = "Missing";
 
     private TreeViewer viewer;
+    private FavoritesContentProvider contentProvider;
     private FavoritesLabelProvider labelProvider;
+    private Text filterText;
     private IPartListener2 partListener;
     private String currentEditorKey;
     private FavoritesStore store;
@@ -139,15 +158,27 @@ public class FavoritesView extends ViewPart {
     private boolean commentAutoWidth = true;
     private boolean adjustingCommentWidth;
     private static final int MIN_COMMENT_WIDTH = 200;
+    private static final int MAX_PREFETCH_ENTRIES = 50;
+    private static final String LOADING_PLACEHOLDER = "Favoriten werden geladen…";
     private int preferredCommentWidth = DEFAULT_COMMENT_WIDTH;
     private boolean commentSettingsDirty;
+    private boolean groupingSettingDirty;
     private ISelectionChangedListener handlerUpdateListener;
     private Action addToolbarAction;
     private Action removeToolbarAction;
     private Action cleanMissingToolbarAction;
+    private Action groupToolbarAction;
     private IEvaluationService evaluationService;
     private IEclipsePreferences preferences;
     private Image titleImage;
+    private FavoritesSorter.Column sortColumn;
+    private TreeColumn sortTreeColumn;
+    private boolean sortAscending = true;
+    private Job sortJob;
+    private int sortGeneration;
+    private ISelectionChangedListener prefetchListener;
+    private Job prefetchJob;
+    private Listener statusVerificationTrigger;
 
     @Override
     public void createPartControl(Composite parent) {
@@ -159,13 +190,16 @@ public class FavoritesView extends ViewPart {
         container.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
         container.setLayout(new GridLayout(1, false));
 
+        createFilterText(container);
         viewer = new TreeViewer(container, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION);
-        viewer.setContentProvider(new FavoritesContentProvider());
+        contentProvider = new FavoritesContentProvider();
+        contentProvider.setGrouped(preferences.getBoolean(PREF_KEY_GROUPED, false));
+        viewer.setContentProvider(contentProvider);
         labelProvider = new FavoritesLabelProvider();
         viewer.setLabelProvider(labelProvider);
         viewer.getTree().setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
         createColumns();
-        viewer.setColumnProperties(new String[] { "name", "comment" });
+        viewer.setColumnProperties(new String[] { "name", "path", "status", "comment" });
         configureEditing();
         viewer.setUseHashlookup(true);
         viewer.setInput(store);
@@ -177,12 +211,74 @@ public class FavoritesView extends ViewPart {
         hookDoubleClick();
         hookDragAndDrop();
         hookHandlerUpdates();
+        hookTypePrefetch();
         hookEditorTracking();
 
         storeListener = entries -> asyncRefresh();
         if (store != null) {
             store.addListener(storeListener);
+            if (store.isLoaded() && contentProvider.isShowingPlaceholder()) {
+                refreshContents();
+            }
+        }
+        hookStatusVerification();
+    }
+
+    private void hookStatusVerification() {
+        if (store == null) {
+            return;
         }
+        Tree tree = viewer.getTree();
+        statusVerificationTrigger = event -> {
+            if (!store.isLoaded() || contentProvider == null || contentProvider.isShowingPlaceholder()) {
+                return;
+            }
+            tree.removeListener(SWT.Paint, statusVerificationTrigger);
+            statusVerificationTrigger = null;
+            FavoritesStore source = store;
+            List<FavoriteEntry> visible = visibleEntries();
+            Job verifyJob = Job.create("Verifying favorites", monitor -> {
+                source.verifyStatuses(visible, monitor);
+                return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+            });
+            verifyJob.setSystem(true);
+            verifyJob.setPriority(Job.DECORATE);
+            verifyJob.schedule();
+        };
+        tree.addListener(SWT.Paint, statusVerificationTrigger);
+    }
+
+    private void createFilterText(Composite container) {
+        filterText = new Text(container, SWT.SEARCH | SWT.ICON_SEARCH | SWT.ICON_CANCEL);
+        filterText.setMessage("Filter");
+        filterText.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+        filterText.addModifyListener(event -> applyFilter(filterText.getText()));
+    }
+
+    private void applyFilter(String filter) {
+        if (viewer == null || contentProvider == null) {
+            return;
+        }
+        Control control = viewer.getControl();
+        if (control == null || control.isDisposed()) {
+            return;
+        }
+        if (!contentProvider.setFilter(filter)) {
+            return;
+        }
+        updateSortIndicator();
+        if (isSortActive()) {
+            scheduleSort();
+            return;
+        }
+        control.setRedraw(false);
+        try {
+            contentProvider.setSortedElements(null);
+            refreshViewer();
+        } finally {
+            control.setRedraw(true);
+        }
+        updateActionEnablement();
     }
 
     private void createColumns() {
@@ -200,6 +296,25 @@ public class FavoritesView extends ViewPart {
         nameColumn.setMoveable(false);
         nameColumn.setWidth(240);
         nameViewerColumn.setLabelProvider(labelProvider);
+        hookSorting(nameColumn, FavoritesSorter.Column.NAME);
+
+        TreeViewerColumn pathViewerColumn = new TreeViewerColumn(viewer, SWT.LEFT);
+        TreeColumn pathColumn = pathViewerColumn.getColumn();
+        pathColumn.setText("Pfad");
+        pathColumn.setResizable(true);
+        pathColumn.setMoveable(false);
+        pathColumn.setWidth(280);
+        pathViewerColumn.setLabelProvider(new PathLabelProvider());
+        hookSorting(pathColumn, FavoritesSorter.Column.PATH);
+
+        TreeViewerColumn statusViewerColumn = new TreeViewerColumn(viewer, SWT.LEFT);
+        TreeColumn statusColumn = statusViewerColumn.getColumn();
+        statusColumn.setText("Status");
+        statusColumn.setResizable(true);
+        statusColumn.setMoveable(false);
+        statusColumn.setWidth(70);
+        statusViewerColumn.setLabelProvider(new StatusLabelProvider());
+        hookSorting(statusColumn, FavoritesSorter.Column.STATUS);
 
         TreeViewerColumn commentViewerColumn = new TreeViewerColumn(viewer, SWT.LEFT);
         commentColumn = commentViewerColumn.getColumn();
@@ -216,11 +331,104 @@ public class FavoritesView extends ViewPart {
         });
         commentViewerColumn.setLabelProvider(new CommentLabelProvider());
         commentViewerColumn.setEditingSupport(new CommentEditingSupport(viewer));
+        hookSorting(commentColumn, FavoritesSorter.Column.COMMENT);
 
         tree.addListener(SWT.Resize, event -> adjustCommentColumnWidth());
         adjustCommentColumnWidth();
     }
 
+    private void hookSorting(TreeColumn column, FavoritesSorter.Column sortKey) {
+        column.addListener(SWT.Selection, event -> toggleSort(column, sortKey));
+    }
+
+    private void toggleSort(TreeColumn column, FavoritesSorter.Column sortKey) {
+        if (contentProvider == null || !contentProvider.isFlat()) {
+            // groups keep their own order; a sort indicator would promise an order that is not shown
+            return;
+        }
+        if (sortColumn != sortKey) {
+            sortColumn = sortKey;
+            sortAscending = true;
+        } else if (sortAscending) {
+            sortAscending = false;
+        } else {
+            sortColumn = null;
+        }
+        sortTreeColumn = sortColumn == null ? null : column;
+        refreshContents();
+    }
+
+    private void updateSortIndicator() {
+        boolean active = isSortActive();
+        Tree tree = viewer.getTree();
+        tree.setSortColumn(active ? sortTreeColumn : null);
+        tree.setSortDirection(active ? sortAscending ? SWT.UP : SWT.DOWN : SWT.NONE);
+    }
+
+    private boolean isSortActive() {
+        return sortColumn != null && contentProvider != null && contentProvider.isFlat();
+    }
+
+    private void refreshContents() {
+        if (viewer == null || viewer.getControl().isDisposed()) {
+            return;
+        }
+        updateSortIndicator();
+        if (isSortActive()) {
+            scheduleSort();
+            return;
+        }
+        if (contentProvider != null) {
+            contentProvider.setSortedElements(null);
+        }
+        refreshViewer();
+        updateActionEnablement();
+    }
+
+    private void refreshViewer() {
+        try (Span span = Probe.start(Operation.VIEW_REFRESH)) {
+            viewer.refresh();
+            if (span.isRecording()) {
+                span.items(viewer.getTree().getItemCount());
+            }
+        }
+    }
+
+    private void scheduleSort() {
+        if (store == null || contentProvider == null) {
+            return;
+        }
+        if (sortJob != null) {
+            sortJob.cancel();
+        }
+        int generation = ++sortGeneration;
+        FavoritesStore source = store;
+        FavoritesSorter.Column column = sortColumn;
+        boolean ascending = sortAscending;
+        String filter = contentProvider.getFilter();
+        Display display = viewer.getControl().getDisplay();
+        sortJob = Job.create("Sorting favorites", monitor -> {
+            List<FavoritesSorter.SortKey> snapshot = source.getSortKeys(filter, column);
+            List<FavoriteEntry> sorted = FavoritesSorter.sort(snapshot, ascending);
+            if (monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+            display.asyncExec(UiWatchdog.wrap("view.applySorted", () -> applySortedElements(generation, sorted)));
+            return Status.OK_STATUS;
+        });
+        sortJob.setSystem(true);
+        sortJob.schedule();
+    }
+
+    private void applySortedElements(int generation, List<FavoriteEntry> sorted) {
+        if (generation != sortGeneration || viewer == null || viewer.getControl().isDisposed() || !isSortActive()) {
+            return;
+        }
+        contentProvider.setSortedElements(sorted);
+        refreshViewer();
+        updateActionEnablement();
+    }
+
     private void configureEditing() {
         ColumnViewerEditorActivationStrategy activationStrategy = new ColumnViewerEditorActivationStrategy(viewer) {
             @Override
@@ -320,7 +528,11 @@ public class FavoritesView extends ViewPart {
 
     @Override
     public void dispose() {
-        flushCommentColumnSettings();
+        flushViewPreferences();
+        if (sortJob != null) {
+            sortJob.cancel();
+            sortJob = null;
+        }
         if (store != null && storeListener != null) {
             store.removeListener(storeListener);
         }
@@ -338,13 +550,24 @@ public class FavoritesView extends ViewPart {
             viewer.removeSelectionChangedListener(handlerUpdateListener);
             handlerUpdateListener = null;
         }
+        if (viewer != null && prefetchListener != null) {
+            viewer.removePostSelectionChangedListener(prefetchListener);
+            prefetchListener = null;
+        }
+        if (prefetchJob != null) {
+            prefetchJob.cancel();
+            prefetchJob = null;
+        }
         if (labelProvider != null) {
             labelProvider.disposeResources();
             labelProvider = null;
         }
+        contentProvider = null;
+        filterText = null;
         addToolbarAction = null;
         removeToolbarAction = null;
         cleanMissingToolbarAction = null;
+        groupToolbarAction = null;
         evaluationService = null;
         currentEditorKey = null;
         preferences = null;
@@ -386,6 +609,19 @@ public class FavoritesView extends ViewPart {
         cleanMissingToolbarAction = createToolbarAction(cleanMissingActionId, "Clean Missing", cleanIcon, cleanDisabledIcon,
                 this::removeMissingEntries);
         toolBarManager.add(cleanMissingToolbarAction);
+        String groupActionId = "com.holgersiegel.favorites.views.groupByFolder.toolbar";
+        toolBarManager.remove(groupActionId);
+        groupToolbarAction = new Action("Group by Folder", IAction.AS_CHECK_BOX) {
+            @Override
+            public void run() {
+                setGrouped(isChecked());
+            }
+        };
+        groupToolbarAction.setId(groupActionId);
+        groupToolbarAction.setToolTipText("Group by Folder");
+        groupToolbarAction.setImageDescriptor(sharedImages.getImageDescriptor(ISharedImages.IMG_OBJ_FOLDER));
+        groupToolbarAction.setChecked(contentProvider != null && contentProvider.isGrouped());
+        toolBarManager.add(groupToolbarAction);
         toolBarManager.update(true);
         actionBars.updateActionBars();
         updateActionEnablement();
@@ -448,6 +684,106 @@ public class FavoritesView extends ViewPart {
         updateActionEnablement();
     }
 
+    private void hookTypePrefetch() {
+        if (viewer == null) {
+            return;
+        }
+        prefetchListener = event -> prefetchTypeHierarchies();
+        viewer.addPostSelectionChangedListener(prefetchListener);
+    }
+
+    private void prefetchTypeHierarchies() {
+        if (prefetchJob != null) {
+            prefetchJob.cancel();
+            prefetchJob = null;
+        }
+        Tree tree = viewer == null ? null : viewer.getTree();
+        if (tree == null || tree.isDisposed()) {
+            return;
+        }
+        Set<FavoriteEntry> candidates = new LinkedHashSet<>();
+        IStructuredSelection selection = viewer.getStructuredSelection();
+        for (Object element : selection.toArray()) {
+            if (candidates.size() >= MAX_PREFETCH_ENTRIES) {
+                break;
+            }
+            if (element instanceof FavoriteEntry && isJavaFile((FavoriteEntry) element)) {
+                candidates.add((FavoriteEntry) element);
+            }
+        }
+        for (FavoriteEntry entry : visibleEntries()) {
+            if (candidates.size() >= MAX_PREFETCH_ENTRIES) {
+                break;
+            }
+            if (isJavaFile(entry)) {
+                candidates.add(entry);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+        List<IType> types = new ArrayList<>(candidates.size());
+        for (FavoriteEntry entry : candidates) {
+            IType type = TypeHierarchyCache.primaryTypeHandle(entry);
+            if (type != null) {
+                types.add(type);
+            }
+        }
+        if (!types.isEmpty()) {
+            prefetchJob = FavoritesPlugin.getDefault().getTypeHierarchyCache().prefetch(types);
+        }
+    }
+
+    private static boolean isJavaFile(FavoriteEntry entry) {
+        if (!entry.isWorkspaceResource() || entry.isMissing()) {
+            return false;
+        }
+        String path = entry.getAbsolutePath();
+        return path != null && (path.endsWith(".java") || path.endsWith(".class"));
+    }
+
+    private List<FavoriteEntry> visibleEntries() {
+        Tree tree = viewer.getTree();
+        int visibleRows = tree.getClientArea().height / Math.max(1, tree.getItemHeight()) + 1;
+        List<FavoriteEntry> visible = new ArrayList<>(visibleRows);
+        TreeItem topItem = tree.getTopItem();
+        if (topItem == null) {
+            return visible;
+        }
+        boolean grouped = contentProvider != null && contentProvider.isGrouped();
+        TreeItem[] roots = tree.getItems();
+        TreeItem topParent = topItem.getParentItem();
+        int rows = 0;
+        int index;
+        if (topParent == null) {
+            index = tree.indexOf(topItem);
+        } else {
+            rows = collectVisible(topParent.getItems(), topParent.indexOf(topItem), visibleRows, visible);
+            index = tree.indexOf(topParent) + 1;
+        }
+        for (; index >= 0 && index < roots.length && rows < visibleRows; index++) {
+            TreeItem root = roots[index];
+            if (root.getData() instanceof FavoriteEntry entry) {
+                visible.add(entry);
+            }
+            rows++;
+            if (grouped && rows < visibleRows && root.getExpanded()) {
+                rows += collectVisible(root.getItems(), 0, visibleRows - rows, visible);
+            }
+        }
+        return visible;
+    }
+
+    private static int collectVisible(TreeItem[] items, int from, int maxRows, List<FavoriteEntry> visible) {
+        int rows = 0;
+        for (int i = Math.max(0, from); i < items.length && rows < maxRows; i++, rows++) {
+            if (items[i].getData() instanceof FavoriteEntry entry) {
+                visible.add(entry);
+            }
+        }
+        return rows;
+    }
+
     private void hookEditorTracking() {
         IWorkbenchPartSite site = getSite();
         if (site == null) {
@@ -593,11 +929,11 @@ public class FavoritesView extends ViewPart {
             return;
         }
         Display display = control.getDisplay();
-        display.asyncExec(() -> {
+        display.asyncExec(UiWatchdog.wrap("view.refreshHighlight", () -> {
             if (!control.isDisposed()) {
-                viewer.refresh();
+                refreshViewer();
             }
-        });
+        }));
     }
 
     private boolean isFavoriteOfCurrentEditor(FavoriteEntry entry) {
@@ -632,7 +968,7 @@ public class FavoritesView extends ViewPart {
         if (selection == null || selection.isEmpty()) {
             return false;
         }
-        for (Object element : selection.toArray()) {
+        for (Object element : selection) {
             if (!(element instanceof FavoriteEntry)) {
                 return false;
             }
@@ -674,13 +1010,12 @@ public class FavoritesView extends ViewPart {
             return;
         }
         Display display = viewer.getControl().getDisplay();
-        display.asyncExec(() -> {
+        display.asyncExec(UiWatchdog.wrap("view.asyncRefresh", () -> {
             if (viewer.getControl().isDisposed()) {
                 return;
             }
-            viewer.refresh();
-            updateActionEnablement();
-        });
+            refreshContents();
+        }));
     }
 
     public void revealEntries(Collection<FavoriteEntry> entries) {
@@ -701,14 +1036,14 @@ public class FavoritesView extends ViewPart {
             return;
         }
         List<FavoriteEntry> orderedEntries = new ArrayList<>(uniqueEntries);
-        control.getDisplay().asyncExec(() -> {
+        control.getDisplay().asyncExec(UiWatchdog.wrap("view.revealEntries", () -> {
             if (control.isDisposed()) {
                 return;
             }
-            viewer.refresh();
+            refreshViewer();
             viewer.setSelection(new StructuredSelection(orderedEntries), true);
             updateActionEnablement();
-        });
+        }));
     }
 
     private void configureTitleImage() {
@@ -744,13 +1079,14 @@ public class FavoritesView extends ViewPart {
         commentSettingsDirty = true;
     }
 
-    private void flushCommentColumnSettings() {
-        if (!commentSettingsDirty || preferences == null) {
+    private void flushViewPreferences() {
+        if (!(commentSettingsDirty || groupingSettingDirty) || preferences == null) {
             return;
         }
         try {
             preferences.flush();
             commentSettingsDirty = false;
+            groupingSettingDirty = false;
         } catch (Exception ex) {
             FavoritesPlugin plugin = FavoritesPlugin.getDefault();
             if (plugin != null) {
@@ -760,6 +1096,18 @@ public class FavoritesView extends ViewPart {
         }
     }
 
+    private void setGrouped(boolean grouped) {
+        if (contentProvider == null || contentProvider.isGrouped() == grouped) {
+            return;
+        }
+        contentProvider.setGrouped(grouped);
+        if (preferences != null) {
+            preferences.putBoolean(PREF_KEY_GROUPED, grouped);
+            groupingSettingDirty = true;
+        }
+        refreshContents();
+    }
+
     private void removeMissingEntries() {
         if (store == null) {
             return;
@@ -768,6 +1116,46 @@ public class FavoritesView extends ViewPart {
         updateActionEnablement();
     }
     private static final class FavoritesContentProvider implements ITreeContentProvider {
+
+        private String filter = "";
+        private boolean grouped;
+        private FavoritesStore input;
+        private List<FavoriteEntry> sortedElements;
+        private boolean showingPlaceholder;
+
+        boolean isGrouped() {
+            return grouped;
+        }
+
+        boolean isFlat() {
+            return !grouped || !filter.isEmpty();
+        }
+
+        String getFilter() {
+            return filter;
+        }
+
+        boolean isShowingPlaceholder() {
+            return showingPlaceholder;
+        }
+
+        void setSortedElements(List<FavoriteEntry> sortedElements) {
+            this.sortedElements = sortedElements;
+        }
+
+        void setGrouped(boolean grouped) {
+            this.grouped = grouped;
+        }
+
+        boolean setFilter(String newFilter) {
+            String normalized = newFilter == null ? "" : newFilter.trim();
+            if (normalized.equals(filter)) {
+                return false;
+            }
+            filter = normalized;
+            return true;
+        }
+
         @Override
         public Object[] getElements(Object inputElement) {
             return getChildren(inputElement);
@@ -776,7 +1164,21 @@ public class FavoritesView extends ViewPart {
         @Override
         public Object[] getChildren(Object parentElement) {
             if (parentElement instanceof FavoritesStore) {
-                return ((FavoritesStore) parentElement).getEntries().toArray();
+                FavoritesStore favoritesStore = (FavoritesStore) parentElement;
+                showingPlaceholder = !favoritesStore.isLoaded();
+                if (showingPlaceholder) {
+                    return new Object[] { LOADING_PLACEHOLDER };
+                }
+                if (sortedElements != null && isFlat()) {
+                    return sortedElements.toArray();
+                }
+                if (!filter.isEmpty()) {
+                    return favoritesStore.search(filter).toArray();
+                }
+                return (grouped ? favoritesStore.getRootGroups() : favoritesStore.getEntries()).toArray();
+            }
+            if (parentElement instanceof FavoriteGroup) {
+                return input == null ? new Object[0] : input.getGroupChildren((FavoriteGroup) parentElement).toArray();
             }
             if (parentElement instanceof java.util.Collection<?>) {
                 return ((java.util.Collection<?>) parentElement).toArray();
@@ -786,6 +1188,15 @@ public class FavoritesView extends ViewPart {
 
         @Override
         public Object getParent(Object element) {
+            if (!grouped || !filter.isEmpty()) {
+                return null;
+            }
+            if (element instanceof FavoriteGroup) {
+                return ((FavoriteGroup) element).getParent();
+            }
+            if (element instanceof FavoriteEntry && input != null) {
+                return input.getGroup((FavoriteEntry) element);
+            }
             return null;
         }
 
@@ -794,12 +1205,12 @@ public class FavoritesView extends ViewPart {
             if (element instanceof FavoritesStore) {
                 return !((FavoritesStore) element).getEntries().isEmpty();
             }
-            return false;
+            return element instanceof FavoriteGroup;
         }
 
         @Override
         public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
-            // no-op
+            input = newInput instanceof FavoritesStore ? (FavoritesStore) newInput : null;
         }
 
         @Override
@@ -808,7 +1219,16 @@ public class FavoritesView extends ViewPart {
         }
     }
 
-    private final class CommentLabelProvider extends ColumnLabelProvider {
+    private abstract static class CountingLabelProvider extends ColumnLabelProvider {
+
+        @Override
+        public void update(ViewerCell cell) {
+            Probe.increment(Counter.LABEL_UPDATES);
+            super.update(cell);
+        }
+    }
+
+    private final class CommentLabelProvider extends CountingLabelProvider {
 
         @Override
         public String getText(Object element) {
@@ -816,7 +1236,7 @@ public class FavoritesView extends ViewPart {
                 String comment = ((FavoriteEntry) element).getComment();
                 return comment == null ? "" : comment;
             }
-            return super.getText(element);
+            return "";
         }
 
         @Override
@@ -828,6 +1248,37 @@ public class FavoritesView extends ViewPart {
         }
     }
 
+    private final class PathLabelProvider extends CountingLabelProvider {
+
+        @Override
+        public String getText(Object element) {
+            if (element instanceof FavoriteEntry) {
+                String path = ((FavoriteEntry) element).getAbsolutePath();
+                return path == null ? "" : path;
+            }
+            return "";
+        }
+
+        @Override
+        public Color getForeground(Object element) {
+            if (element instanceof FavoriteEntry && ((FavoriteEntry) element).isMissing()) {
+                return Display.getDefault().getSystemColor(SWT.COLOR_DARK_GRAY);
+            }
+            return super.getForeground(element);
+        }
+    }
+
+    private static final class StatusLabelProvider extends CountingLabelProvider {
+
+        @Override
+        public String getText(Object element) {
+            if (element instanceof FavoriteEntry) {
+                return ((FavoriteEntry) element).isMissing() ? MISSING_STATUS_TEXT : "OK";
+            }
+            return "";
+        }
+    }
+
     private final class CommentEditingSupport extends EditingSupport {
 
         private final TextCellEditor editor;
@@ -867,16 +1318,18 @@ public class FavoritesView extends ViewPart {
             if (Objects.equals(entry.getComment(), normalized)) {
                 return;
             }
-            if (store != null) {
-                store.updateComment(entry, newComment);
-            } else {
-                entry.setComment(newComment);
+            try (UiWatchdog.Watch watch = UiWatchdog.enter("view.commentEdit")) {
+                if (store != null) {
+                    store.updateComment(entry, newComment);
+                } else {
+                    entry.setComment(newComment);
+                }
+                getViewer().update(entry, null);
             }
-            getViewer().update(entry, null);
         }
     }
 
-    private final class FavoritesLabelProvider extends ColumnLabelProvider {
+    private final class FavoritesLabelProvider extends CountingLabelProvider {
 
         private final Image fileImage;
         private final Image folderImage;
@@ -894,6 +1347,9 @@ public class FavoritesView extends ViewPart {
 
         @Override
         public String getText(Object element) {
+            if (element instanceof FavoriteGroup) {
+                return ((FavoriteGroup) element).getLabel();
+            }
             if (!(element instanceof FavoriteEntry)) {
                 return super.getText(element);
             }
@@ -920,15 +1376,22 @@ public class FavoritesView extends ViewPart {
             if (element instanceof FavoriteEntry) {
                 FavoriteEntry entry = (FavoriteEntry) element;
                 if (entry.getStatus() == FavoriteEntry.Status.MISSING) {
-                    return "Missing";
+                    return MISSING_STATUS_TEXT;
                 }
                 return entry.getAbsolutePath();
             }
+            if (element instanceof FavoriteGroup) {
+                return ((FavoriteGroup) element).getLabel();
+            }
             return super.getToolTipText(element);
         }
 
         @Override
         public Image getImage(Object element) {
+            if (element instanceof FavoriteGroup) {
+                FavoriteGroup group = (FavoriteGroup) element;
+                return group.isFolder() || group.isExternal() ? folderImage : projectImage;
+            }
             if (!(element instanceof FavoriteEntry)) {
                 return null;
             }
@@ -968,7 +1431,7 @@ public class FavoritesView extends ViewPart {
                 if (resource instanceof org.eclipse.core.resources.IContainer) {
                     return folderImage;
                 }
-            } else if (Resources.isDirectory(entry)) {
+            } else if (entry.isDirectory()) {
                 return folderImage;
             }
             return fileImage;
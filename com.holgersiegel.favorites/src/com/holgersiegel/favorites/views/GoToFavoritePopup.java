@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Holger Siegel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.holgersiegel.favorites.views;
+
+import java.util.List;
+
+import org.eclipse.jface.dialogs.PopupDialog;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.KeyAdapter;
+import org.eclipse.swt.events.KeyEvent;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.ui.ISharedImages;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PlatformUI;
+
+import com.holgersiegel.favorites.handlers.OpenHandler;
+import com.holgersiegel.favorites.model.FavoriteEntry;
+import com.holgersiegel.favorites.model.FavoritesStore;
+
+public class GoToFavoritePopup extends PopupDialog {
+
+    private static final int MAX_RESULTS = 50;
+
+    private final FavoritesStore store;
+    private final IWorkbenchPage page;
+    private Text filterText;
+    private TableViewer resultViewer;
+
+    public GoToFavoritePopup(Shell parent, FavoritesStore store, IWorkbenchPage page) {
+        super(parent, PopupDialog.INFOPOPUPRESIZE_SHELLSTYLE, true, false, false, false, false, "",
+                "Enter to open, Esc to close");
+        this.store = store;
+        this.page = page;
+    }
+
+    @Override
+    protected Control createTitleControl(Composite parent) {
+        filterText = new Text(parent, SWT.NONE);
+        filterText.setMessage("Go to Favorite");
+        filterText.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+        filterText.addModifyListener(event -> updateResults());
+        filterText.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent event) {
+                if (event.keyCode == SWT.CR || event.keyCode == SWT.KEYPAD_CR) {
+                    event.doit = false;
+                    openSelection();
+                } else if (event.keyCode == SWT.ARROW_DOWN || event.keyCode == SWT.ARROW_UP) {
+                    event.doit = false;
+                    moveSelection(event.keyCode == SWT.ARROW_DOWN ? 1 : -1);
+                }
+            }
+        });
+        return filterText;
+    }
+
+    @Override
+    protected Control createDialogArea(Composite parent) {
+        resultViewer = new TableViewer(parent, SWT.SINGLE | SWT.FULL_SELECTION | SWT.V_SCROLL);
+        resultViewer.setContentProvider(ArrayContentProvider.getInstance());
+        resultViewer.setLabelProvider(new ResultLabelProvider());
+        resultViewer.getTable().setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
+        resultViewer.addOpenListener(event -> openSelection());
+        updateResults();
+        return resultViewer.getControl();
+    }
+
+    @Override
+    protected Control getFocusControl() {
+        return filterText;
+    }
+
+    @Override
+    protected Point getInitialSize() {
+        return new Point(560, 360);
+    }
+
+    @Override
+    protected Point getInitialLocation(Point initialSize) {
+        Shell parent = getParentShell();
+        if (parent == null || parent.isDisposed()) {
+            return super.getInitialLocation(initialSize);
+        }
+        Rectangle bounds = parent.getBounds();
+        return new Point(bounds.x + (bounds.width - initialSize.x) / 2, bounds.y + bounds.height / 5);
+    }
+
+    private void updateResults() {
+        if (resultViewer == null || resultViewer.getControl().isDisposed()) {
+            return;
+        }
+        String query = filterText == null ? "" : filterText.getText();
+        List<FavoriteEntry> results = store.findBest(query, MAX_RESULTS);
+        resultViewer.setInput(results);
+        if (!results.isEmpty()) {
+            resultViewer.setSelection(new StructuredSelection(results.get(0)), true);
+        }
+    }
+
+    private void moveSelection(int delta) {
+        Table table = resultViewer == null ? null : resultViewer.getTable();
+        if (table == null || table.isDisposed() || table.getItemCount() == 0) {
+            return;
+        }
+        int index = Math.max(0, Math.min(table.getItemCount() - 1, table.getSelectionIndex() + delta));
+        table.setSelection(index);
+    }
+
+    private void openSelection() {
+        FavoriteEntry entry = selectedEntry();
+        if (entry == null) {
+            return;
+        }
+        close();
+        new OpenHandler().open(page, List.of(entry));
+    }
+
+    private FavoriteEntry selectedEntry() {
+        if (resultViewer == null || resultViewer.getControl().isDisposed()) {
+            return null;
+        }
+        IStructuredSelection selection = resultViewer.getStructuredSelection();
+        Object element = selection.isEmpty() ? resultViewer.getElementAt(0) : selection.getFirstElement();
+        return element instanceof FavoriteEntry ? (FavoriteEntry) element : null;
+    }
+
+    private static final class ResultLabelProvider extends LabelProvider {
+
+        @Override
+        public String getText(Object element) {
+            if (!(element instanceof FavoriteEntry)) {
+                return super.getText(element);
+            }
+            FavoriteEntry entry = (FavoriteEntry) element;
+            String label = entry.getLabel();
+            String path = entry.getWorkspacePath() != null ? entry.getWorkspacePath() : entry.getAbsolutePath();
+            if (label == null || label.isBlank()) {
+                return path == null ? "<unbekannt>" : path;
+            }
+            return path == null ? label : label + " - " + path;
+        }
+
+        @Override
+        public Image getImage(Object element) {
+            if (element instanceof FavoriteEntry) {
+                return PlatformUI.getWorkbench().getSharedImages().getImage(ISharedImages.IMG_OBJ_FILE);
+            }
+            return null;
+        }
+    }
+}